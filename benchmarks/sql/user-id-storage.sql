@@ -0,0 +1,100 @@
+-- userId 저장 방식 비교: VARCHAR(255) UUID 문자열 vs BINARY(16)
+--
+-- 로컬 MySQL 8 에서 실행합니다. 행 수는 @rows 로 지정 (기본 100만, 1000만은 10000000).
+--   mysql -h 127.0.0.1 -u root --init-command="SET @rows=1000000" < benchmarks/sql/user-id-storage.sql
+--   mysql -h 127.0.0.1 -u root --init-command="SET @rows=10000000" < benchmarks/sql/user-id-storage.sql
+--
+-- 출력: 테이블별 unique 인덱스 크기(MB), B-tree 높이 추정, 무작위 조회 1만 건 평균 지연(us)
+
+CREATE DATABASE IF NOT EXISTS lumidiary_bench;
+USE lumidiary_bench;
+
+SET @rows = IFNULL(@rows, 1000000);
+SET @lookups = 10000;
+
+DROP TABLE IF EXISTS users_varchar, users_binary, digits, sample_ids;
+
+CREATE TABLE users_varchar (
+    id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    UNIQUE KEY uk_user_id (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users_binary (
+    id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BINARY(16) NOT NULL,
+    UNIQUE KEY uk_user_id (user_id)
+) ENGINE = InnoDB;
+
+-- 0..9999999 시퀀스를 숫자 테이블 교차 조인으로 생성
+CREATE TABLE digits (d TINYINT PRIMARY KEY);
+INSERT INTO digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+INSERT INTO users_varchar (user_id)
+SELECT UUID()
+  FROM digits d1, digits d2, digits d3, digits d4, digits d5, digits d6, digits d7
+ WHERE d1.d + d2.d * 10 + d3.d * 100 + d4.d * 1000 + d5.d * 10000 + d6.d * 100000 + d7.d * 1000000 < @rows;
+
+-- 같은 UUID 를 BINARY(16)으로 복사 (삽입 순서도 동일)
+INSERT INTO users_binary (id, user_id)
+SELECT id, UNHEX(REPLACE(user_id, '-', '')) FROM users_varchar ORDER BY id;
+
+ANALYZE TABLE users_varchar, users_binary;
+
+-- 조회 대상 키 표본
+CREATE TABLE sample_ids AS
+SELECT user_id FROM users_varchar ORDER BY RAND() LIMIT 10000;
+
+-- 인덱스 크기 및 높이 추정 (페이지 수 기준)
+SELECT table_name,
+       index_name,
+       ROUND(stat_value * @@innodb_page_size / 1024 / 1024, 1) AS size_mb
+  FROM mysql.innodb_index_stats
+ WHERE database_name = 'lumidiary_bench'
+   AND stat_name = 'size'
+   AND index_name = 'uk_user_id';
+
+SELECT table_name, index_name, stat_value AS leaf_pages,
+       CEIL(LOG(GREATEST(stat_value, 2)) / LOG(@@innodb_page_size / 40)) + 1 AS approx_height
+  FROM mysql.innodb_index_stats
+ WHERE database_name = 'lumidiary_bench'
+   AND stat_name = 'n_leaf_pages'
+   AND index_name = 'uk_user_id';
+
+-- 무작위 키 조회 지연 측정
+DROP PROCEDURE IF EXISTS bench_lookup;
+DELIMITER //
+CREATE PROCEDURE bench_lookup()
+BEGIN
+    DECLARE done INT DEFAULT 0;
+    DECLARE uid VARCHAR(36);
+    DECLARE found BIGINT;
+    DECLARE started DATETIME(6);
+    DECLARE varchar_us BIGINT DEFAULT 0;
+    DECLARE binary_us BIGINT DEFAULT 0;
+    DECLARE cur CURSOR FOR SELECT user_id FROM sample_ids;
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = 1;
+
+    OPEN cur;
+    lookup: LOOP
+        FETCH cur INTO uid;
+        IF done = 1 THEN LEAVE lookup; END IF;
+
+        SET started = NOW(6);
+        SELECT id INTO found FROM users_varchar WHERE user_id = uid;
+        SET varchar_us = varchar_us + TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+
+        SET started = NOW(6);
+        SELECT id INTO found FROM users_binary WHERE user_id = UNHEX(REPLACE(uid, '-', ''));
+        SET binary_us = binary_us + TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+    END LOOP;
+    CLOSE cur;
+
+    SELECT @rows AS row_count,
+           ROUND(varchar_us / @lookups, 2) AS varchar_avg_us,
+           ROUND(binary_us / @lookups, 2)  AS binary_avg_us;
+END //
+DELIMITER ;
+
+CALL bench_lookup();
+DROP PROCEDURE bench_lookup;
@@ -0,0 +1,95 @@
+package com.example.userservice.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 두 JMH JSON 결과(-rf json)를 비교해 처리량 감소·할당량 증가가 기준(%)을 넘으면 실패(exit 1) 합니다.
+ * 사용: BenchmarkComparator baseline.json current.json [thresholdPercent=10]
+ * 할당량 비교는 -prof gc 로 측정한 gc.alloc.rate.norm (B/op) 이 두 결과 모두에 있을 때만 수행합니다.
+ */
+public final class BenchmarkComparator {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparator <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = index(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %8s %12s %12s%n",
+                "benchmark", "base ops/s", "curr ops/s", "diff%", "base B/op", "curr B/op");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double currScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            double diff = baseScore == 0 ? 0 : (currScore - baseScore) / baseScore * 100;
+            Double baseAlloc = allocation(base);
+            Double currAlloc = allocation(entry.getValue());
+
+            boolean slower = diff < -threshold;
+            boolean allocates = baseAlloc != null && currAlloc != null && baseAlloc > 0
+                    && (currAlloc - baseAlloc) / baseAlloc * 100 > threshold;
+            if (slower || allocates) regressions++;
+
+            System.out.printf("%-90s %14.1f %14.1f %7.1f%% %12s %12s%s%n",
+                    entry.getKey(), baseScore, currScore, diff,
+                    format(baseAlloc), format(currAlloc),
+                    slower || allocates ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // benchmark 이름 + 파라미터 조합을 키로 사용
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+
+    private static Double allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOC_NORM)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return null;
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.0f", value);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.userservice.benchmarks;
+
+import com.example.userservice.controller.DigestIdNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다이제스트 완료 요청의 회원 id 정규화 (UUID 문자열 / 0x 헥스 문자열)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DigestIdBenchmark {
+
+    private String uuid;
+    private String hex;
+
+    @Setup
+    public void setUp() {
+        uuid = UUID.randomUUID().toString();
+        hex = "0x" + uuid.replace("-", "").toUpperCase();
+    }
+
+    @Benchmark
+    public UUID normalizeUuid() {
+        return DigestIdNormalizer.normalize(uuid);
+    }
+
+    @Benchmark
+    public UUID normalizeHex() {
+        return DigestIdNormalizer.normalize(hex);
+    }
+}
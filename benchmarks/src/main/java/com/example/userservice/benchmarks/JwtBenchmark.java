@@ -0,0 +1,108 @@
+package com.example.userservice.benchmarks;
+
+import com.example.userservice.security.JwtKeyProvider;
+import com.example.userservice.security.JwtSigningProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 토큰 서명·검증.
+ * perCallKey: 호출마다 jwt.secret 을 디코딩하고 파서를 새로 만드는 기존 방식
+ * cached*: JwtKeyProvider (키·파서를 한 번만 생성) 의 HS256 / ES256
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "bXlzZWNyZXRrZXlteXNlY3JldGtleW15c2VjcmV0a2V5MTIzNDU2";
+    private static final long EXPIRATION_MS = 86_400_000L;
+
+    private JwtKeyProvider hs256Provider;
+    private JwtKeyProvider es256Provider;
+    private String userId;
+    private String hs256Token;
+    private String es256Token;
+
+    @Setup
+    public void setUp() throws Exception {
+        hs256Provider = new JwtKeyProvider(new JwtSigningProperties(), SECRET,
+                new ObjectMapper(), new SimpleMeterRegistry());
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        JwtSigningProperties.SigningKey key = new JwtSigningProperties.SigningKey();
+        key.setKid("bench");
+        key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        JwtSigningProperties es256 = new JwtSigningProperties();
+        es256.setActiveKid("bench");
+        es256.setKeys(List.of(key));
+        es256Provider = new JwtKeyProvider(es256, SECRET, new ObjectMapper(), new SimpleMeterRegistry());
+
+        userId = UUID.randomUUID().toString();
+        hs256Token = hs256Provider.sign(loginClaims());
+        es256Token = es256Provider.sign(loginClaims());
+    }
+
+    private io.jsonwebtoken.JwtBuilder loginClaims() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(userId)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(EXPIRATION_MS)));
+    }
+
+    @Benchmark
+    public String signPerCallKey() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return loginClaims().signWith(key, Jwts.SIG.HS256).compact();
+    }
+
+    @Benchmark
+    public String signCachedHs256() {
+        return hs256Provider.sign(loginClaims());
+    }
+
+    @Benchmark
+    public String signCachedEs256() {
+        return es256Provider.sign(loginClaims());
+    }
+
+    @Benchmark
+    public Claims verifyPerCallKey() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(hs256Token).getPayload();
+    }
+
+    @Benchmark
+    public Claims verifyCachedHs256() {
+        return hs256Provider.parse(hs256Token);
+    }
+
+    @Benchmark
+    public Claims verifyCachedEs256() {
+        return es256Provider.parse(es256Token);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.userservice.benchmarks;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserProfileView;
+import com.example.userservice.service.ResponseUserMapper;
+import com.example.userservice.vo.ResponseUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티·프로젝션 -> ResponseUser 변환과 JSON 직렬화 (애플리케이션과 같은 날짜 설정)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private UserEntity entity;
+    private UserProfileView profile;
+    private ResponseUser response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        String userId = UUID.randomUUID().toString();
+        entity = UserEntity.builder()
+                .userId(userId)
+                .email("bench@example.com")
+                .build();
+        entity.changeName("벤치마크");
+        entity.changeBirthDate(LocalDate.of(1990, 1, 1));
+        entity.changeTheme(Theme.LIGHT);
+        entity.setProfileImageUrl("https://objectstorage.example.com/p/par/o/profiles/" + userId + "/a.png");
+
+        profile = new UserProfileView() {
+            public String getUserId() { return userId; }
+            public String getEmail() { return "bench@example.com"; }
+            public String getName() { return "벤치마크"; }
+            public LocalDate getBirthDate() { return LocalDate.of(1990, 1, 1); }
+            public Theme getTheme() { return Theme.LIGHT; }
+            public String getProfileImageUrl() { return entity.getProfileImageUrl(); }
+            public Long getVersion() { return 3L; }
+        };
+
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = ResponseUserMapper.toResponse(profile, null);
+    }
+
+    @Benchmark
+    public ResponseUser mapEntity() {
+        return ResponseUserMapper.toResponse(entity, null);
+    }
+
+    @Benchmark
+    public ResponseUser mapProjection() {
+        return ResponseUserMapper.toResponse(profile, null);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(ResponseUserMapper.toResponse(profile, null));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.userservice.loadtest;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 SMTP 서버. 메일을 받기만 하고, DATA 응답 전에 지정한 지연을 주어 실제 릴레이 응답 시간을 흉내냅니다.
+ * 수신자별 마지막 메일 본문을 보관하므로 가입 인증 링크를 꺼내 쓸 수 있습니다. (STARTTLS·AUTH 미지원)
+ */
+@Slf4j
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "fake-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long latencyMs;
+    private final Map<String, byte[]> lastMessageByRecipient = new ConcurrentHashMap<>();
+    private final AtomicLong received = new AtomicLong();
+
+    public FakeSmtpServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "fake-smtp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    // 수신자에게 마지막으로 온 메일 본문 (text/html 을 디코딩한 문자열)
+    public String lastBody(String recipient) {
+        byte[] raw = lastMessageByRecipient.get(recipient.toLowerCase());
+        if (raw == null) return null;
+        try {
+            MimeMessage message = new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(raw));
+            return String.valueOf(message.getContent());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to parse message for " + recipient, e);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) log.warn("SMTP accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 fake-smtp ready");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-fake-smtp\r\n250 8BITMIME");
+                    case "HELO" -> reply(out, "250 fake-smtp");
+                    case "MAIL" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        byte[] message = readData(in);
+                        sleepLatency();
+                        recipients.forEach(r -> lastMessageByRecipient.put(r, message));
+                        received.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("SMTP connection closed: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] readData(BufferedReader in) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            // dot-stuffing 해제
+            if (line.startsWith("..")) line = line.substring(1);
+            data.writeBytes(line.getBytes(StandardCharsets.ISO_8859_1));
+            data.writeBytes(new byte[]{'\r', '\n'});
+        }
+        return data.toByteArray();
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>');
+        String address = start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1);
+        return address.trim().toLowerCase();
+    }
+
+    private void sleepLatency() {
+        if (latencyMs <= 0) return;
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
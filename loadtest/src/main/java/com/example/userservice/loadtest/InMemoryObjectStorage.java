@@ -0,0 +1,68 @@
+package com.example.userservice.loadtest;
+
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
+import com.oracle.bmc.objectstorage.responses.GetNamespaceResponse;
+import com.oracle.bmc.objectstorage.responses.HeadBucketResponse;
+import com.oracle.bmc.objectstorage.responses.PutObjectResponse;
+
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OCI ObjectStorage 대체 구현. putObject 는 본문을 끝까지 읽고 크기만 보관하며, 사용하지 않는 메서드는 예외를 던집니다.
+ * (ObjectStorage 인터페이스는 메서드가 많아 동적 프록시로 필요한 것만 처리)
+ */
+public final class InMemoryObjectStorage {
+
+    private final Map<String, Long> objectSizes = new ConcurrentHashMap<>();
+    private final AtomicLong bytesStored = new AtomicLong();
+    private final long latencyMs;
+
+    public InMemoryObjectStorage(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public int getObjectCount() {
+        return objectSizes.size();
+    }
+
+    public long getBytesStored() {
+        return bytesStored.get();
+    }
+
+    public ObjectStorage asObjectStorage(String namespace) {
+        return (ObjectStorage) Proxy.newProxyInstance(
+                ObjectStorage.class.getClassLoader(),
+                new Class<?>[]{ObjectStorage.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "putObject" -> putObject((PutObjectRequest) args[0]);
+                    case "getNamespace" -> GetNamespaceResponse.builder().value(namespace).build();
+                    case "headBucket" -> HeadBucketResponse.builder().build();   // 헬스 체크
+                    case "close" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryObjectStorage";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private PutObjectResponse putObject(PutObjectRequest request) throws Exception {
+        long size = 0;
+        try (InputStream body = request.getPutObjectBody()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+            }
+        }
+        if (latencyMs > 0) Thread.sleep(latencyMs);
+        objectSizes.put(request.getObjectName(), size);
+        bytesStored.addAndGet(size);
+        return PutObjectResponse.builder().eTag(UUID.randomUUID().toString()).build();
+    }
+}
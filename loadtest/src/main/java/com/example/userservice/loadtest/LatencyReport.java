@@ -0,0 +1,127 @@
+package com.example.userservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연 분포(HdrHistogram)와 오류 수를 모으고, 기준 결과와 비교합니다.
+ */
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, ConcurrentHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, Long> elapsedNanosByEndpoint = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        histograms.computeIfAbsent(endpoint, k -> new ConcurrentHistogram(MAX_LATENCY_NANOS, 3))
+                .recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        }
+    }
+
+    // 엔드포인트가 측정된 시나리오 실행 시간 (처리량 계산용, 여러 시나리오에 나오면 합산)
+    public void addElapsed(Iterable<String> endpoints, long elapsedNanos) {
+        endpoints.forEach(endpoint -> elapsedNanosByEndpoint.merge(endpoint, elapsedNanos, Long::sum));
+    }
+
+    public List<EndpointResult> results() {
+        List<EndpointResult> results = new ArrayList<>();
+        histograms.keySet().stream().sorted().forEach(endpoint -> {
+            Histogram histogram = histograms.get(endpoint);
+            long elapsed = elapsedNanosByEndpoint.getOrDefault(endpoint, 1L);
+            LongAdder errorCount = errors.get(endpoint);
+            results.add(new EndpointResult(
+                    endpoint,
+                    histogram.getTotalCount(),
+                    errorCount == null ? 0 : errorCount.sum(),
+                    histogram.getTotalCount() / (elapsed / 1e9),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        });
+        return results;
+    }
+
+    public void print() {
+        System.out.printf("%-36s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointResult r : results()) {
+            System.out.printf("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.getEndpoint(), r.getCount(), r.getErrors(), r.getThroughput(),
+                    r.getP50Ms(), r.getP99Ms(), r.getP999Ms(), r.getMaxMs());
+        }
+    }
+
+    public void write(File file) throws IOException {
+        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+        mapper().writeValue(file, results());
+    }
+
+    /**
+     * 기준 결과 대비 p99 가 tolerance 이상 늘거나 처리량이 tolerance 이상 줄거나, 기준에 없던 오류가 생기면 회귀로 봅니다.
+     */
+    public List<String> regressionsAgainst(File baselineFile, double tolerance) throws IOException {
+        Map<String, EndpointResult> baseline = new LinkedHashMap<>();
+        for (EndpointResult r : mapper().readValue(baselineFile, EndpointResult[].class)) {
+            baseline.put(r.getEndpoint(), r);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (EndpointResult current : results()) {
+            EndpointResult base = baseline.get(current.getEndpoint());
+            if (base == null) continue;
+            if (current.getP99Ms() > base.getP99Ms() * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.2fms -> %.2fms",
+                        current.getEndpoint(), base.getP99Ms(), current.getP99Ms()));
+            }
+            if (current.getThroughput() < base.getThroughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s throughput %.1f -> %.1f req/s",
+                        current.getEndpoint(), base.getThroughput(), current.getThroughput()));
+            }
+            if (base.getErrors() == 0 && current.getErrors() > 0) {
+                regressions.add(String.format("%s errors 0 -> %d", current.getEndpoint(), current.getErrors()));
+            }
+        }
+        return regressions;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointResult {
+        private String endpoint;
+        private long count;
+        private long errors;
+        private double throughput;
+        private double p50Ms;
+        private double p99Ms;
+        private double p999Ms;
+        private double maxMs;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.userservice.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 부하 테스트용 HTTP 클라이언트. 요청마다 지연과 성공 여부(2xx)를 LatencyReport 에 기록합니다.
+ */
+public class LoadClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final String baseUrl;
+    private final LatencyReport report;
+
+    public LoadClient(String baseUrl, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.report = report;
+    }
+
+    public HttpResponse<String> postJson(String label, String path, String json, String token) {
+        HttpRequest.Builder builder = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        return send(label, builder.build());
+    }
+
+    public HttpResponse<String> putJson(String label, String path, String json, String token) {
+        HttpRequest.Builder builder = request(path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json));
+        return send(label, builder.build());
+    }
+
+    public HttpResponse<String> get(String label, String path, String token) {
+        return send(label, request(path, token).GET().build());
+    }
+
+    public HttpResponse<String> postMultipart(String label, String path, String token,
+                                              String filename, String contentType, byte[] content) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n";
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest.Builder builder = request(path, token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+        return send(label, builder.build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("token", token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(String label, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            report.record(label, System.nanoTime() - start, response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException e) {
+            report.record(label, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.record(label, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.userservice.loadtest;
+
+import com.example.userservice.UserServiceApplication;
+import com.example.userservice.config.QueryBudgetReport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 외부 의존성 없이 UserService 를 띄우고 주요 시나리오에 부하를 줍니다.
+ * DB 는 H2(MySQL 모드), SMTP 는 FakeSmtpServer, OCI Object Storage 는 InMemoryObjectStorage 로 대체합니다.
+ * 클라이언트와 서버가 같은 JVM 에서 돌기 때문에 절대 수치보다는 기준 결과 대비 변화를 보는 용도입니다.
+ *
+ * 실행: java -jar loadtest/target/loadtest.jar --duration-seconds=30 --concurrency=32 --smtp-latency-ms=80
+ *
+ * 옵션 (--key=value)
+ *  duration-seconds  시나리오별 실행 시간 (기본 20)
+ *  concurrency       동시 요청 수 (기본 16)
+ *  smtp-latency-ms   SMTP DATA 응답 지연 (기본 50)
+ *  storage-latency-ms 스토리지 업로드 지연 (기본 20)
+ *  scenarios         실행할 시나리오, 쉼표 구분 (기본 전체)
+ *  baseline          비교할 기준 결과 (기본 loadtest/baseline.json, 없으면 실패. 처음에는 write-baseline 으로 생성)
+ *  tolerance         허용 악화 비율 (기본 0.25)
+ *  write-baseline    true 면 이번 결과를 기준 결과로 저장
+ *  out               결과 파일 (기본 loadtest/results/latest.json)
+ *  query-budget      요청별 쿼리 수 확인: enforce(기본, @QueryBudget 초과 시 실패) | report | off
+ *  shards            1 보다 크면 H2 DB 여러 개로 회원 샤딩 (기본 1)
+ */
+public class LoadTestRunner {
+
+    private static final Pattern VERIFY_TOKEN = Pattern.compile("verifyToken=([A-Za-z0-9_\\-.]+)");
+    private static final Pattern USER_ID = Pattern.compile("\"userId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String PASSWORD = "loadtest-password";
+    private static final List<String> ALL_SCENARIOS =
+            List.of("signup-funnel", "login-storm", "profile-mix", "avatar-upload", "digest-burst");
+
+    private final LoadClient client;
+    private final FakeSmtpServer smtp;
+    private final List<SeededUser> users = new ArrayList<>();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final byte[] avatar = new byte[48 * 1024];
+
+    private LoadTestRunner(LoadClient client, FakeSmtpServer smtp) {
+        this.client = client;
+        this.smtp = smtp;
+        ThreadLocalRandom.current().nextBytes(avatar);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration-seconds", "20"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        long smtpLatencyMs = Long.parseLong(options.getOrDefault("smtp-latency-ms", "50"));
+        long storageLatencyMs = Long.parseLong(options.getOrDefault("storage-latency-ms", "20"));
+        List<String> scenarios = options.containsKey("scenarios")
+                ? Arrays.asList(options.get("scenarios").split(","))
+                : ALL_SCENARIOS;
+        File baseline = new File(options.getOrDefault("baseline", "loadtest/baseline.json"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.25"));
+        boolean writeBaseline = Boolean.parseBoolean(options.getOrDefault("write-baseline", "false"));
+        File out = new File(options.getOrDefault("out", "loadtest/results/latest.json"));
+        int shards = Integer.parseInt(options.getOrDefault("shards", "1"));
+        String queryBudgetMode = options.getOrDefault("query-budget", "enforce");
+
+        LatencyReport report = new LatencyReport();
+        int exitCode;
+        try (FakeSmtpServer smtp = new FakeSmtpServer(smtpLatencyMs);
+             ConfigurableApplicationContext app = start(smtp.getPort(), storageLatencyMs, shards, queryBudgetMode)) {
+
+            String port = app.getEnvironment().getProperty("local.server.port");
+            LoadTestRunner runner = new LoadTestRunner(new LoadClient("http://localhost:" + port, report), smtp);
+
+            // 시드 사용자는 측정에서 제외
+            runner.seed(concurrency * 4, new LoadClient("http://localhost:" + port, new LatencyReport()));
+
+            for (String scenario : scenarios) {
+                System.out.printf("running %s for %ds with %d workers%n", scenario, durationSeconds, concurrency);
+                runner.run(scenario, durationSeconds, concurrency, report);
+            }
+            System.out.printf("mails received=%d, objects stored=%d (%d bytes)%n", smtp.getReceivedCount(),
+                    app.getBean(InMemoryObjectStorage.class).getObjectCount(),
+                    app.getBean(InMemoryObjectStorage.class).getBytesStored());
+
+            report.print();
+            report.write(out);
+            exitCode = 0;
+
+            QueryBudgetReport queryBudget = app.getBeanProvider(QueryBudgetReport.class).getIfAvailable();
+            if (queryBudget != null) {
+                System.out.print(queryBudget.format());
+                List<String> violations = queryBudget.violations();
+                if (queryBudget.isEnforced() && !violations.isEmpty()) {
+                    System.out.println("QUERY BUDGET VIOLATIONS:");
+                    violations.forEach(v -> System.out.println("  " + v));
+                    exitCode = 1;
+                }
+            }
+            if (writeBaseline) {
+                report.write(baseline);
+                System.out.println("baseline written to " + baseline);
+            } else if (!baseline.exists()) {
+                // 비교 없이 통과하면 악화를 놓치므로 기준 결과가 없으면 실패
+                System.out.println("NO BASELINE: " + baseline + " not found (run with --write-baseline to create it)");
+                exitCode = 1;
+            } else {
+                List<String> regressions = report.regressionsAgainst(baseline, tolerance);
+                if (!regressions.isEmpty()) {
+                    System.out.println("REGRESSIONS (tolerance " + tolerance + "):");
+                    regressions.forEach(r -> System.out.println("  " + r));
+                    exitCode = 1;
+                }
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start(int smtpPort, long storageLatencyMs, int shards,
+                                                        String queryBudgetMode) {
+        // application.yml 보다 우선하도록 명령행 인자로 전달
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=" + smtpPort,
+                "--spring.mail.username=loadtest",
+                "--spring.mail.password=loadtest",
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                "--oci.objectstorage.enabled=false",
+                "--loadtest.storage-latency-ms=" + storageLatencyMs,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--app.purge.enabled=false",
+                "--app.query-budget.mode=" + queryBudgetMode,
+                "--management.tracing.sampling.probability=0",
+                "--logging.level.root=WARN",
+                        "--logging.level.com.example.userservice=WARN"));
+        if (shards > 1) {
+            args.add("--app.sharding.enabled=true");
+            for (int i = 0; i < shards; i++) {
+                args.add("--app.sharding.shards[" + i + "].url=jdbc:h2:mem:loadtest-shard" + i
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+                args.add("--app.sharding.shards[" + i + "].username=sa");
+            }
+        }
+        return new SpringApplicationBuilder(UserServiceApplication.class, LoadTestStandIns.class)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private void seed(int count, LoadClient seedClient) {
+        for (int i = 0; i < count; i++) {
+            SeededUser user = signUp(seedClient);
+            if (user == null) {
+                throw new IllegalStateException("시드 사용자 생성 실패 (앱 로그 확인)");
+            }
+            users.add(user);
+        }
+    }
+
+    private void run(String scenario, int durationSeconds, int concurrency, LatencyReport report)
+            throws InterruptedException {
+        Runnable iteration = switch (scenario) {
+            case "signup-funnel" -> () -> signUp(client);
+            case "login-storm" -> () -> login(client, randomUser().email);
+            case "profile-mix" -> this::profileMix;
+            case "avatar-upload" -> this::avatarUpload;
+            case "digest-burst" -> this::digestBurst;
+            default -> throw new IllegalArgumentException("unknown scenario: " + scenario);
+        };
+        List<String> endpoints = switch (scenario) {
+            case "signup-funnel" -> List.of("POST /users/email/verify", "POST /users/signup", "POST /users/login");
+            case "login-storm" -> List.of("POST /users/login");
+            case "profile-mix" -> List.of("GET /users/profile", "PUT /users/profile");
+            case "avatar-upload" -> List.of("POST /users/{userId}/profile-image");
+            default -> List.of("POST /users/digest/completed");
+        };
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        iteration.run();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        report.addElapsed(endpoints, System.nanoTime() - start);
+        workers.shutdown();
+    }
+
+    // 인증 메일 발송 → 메일 본문의 verifyToken 으로 가입 → 로그인
+    private SeededUser signUp(LoadClient http) {
+        String email = "load" + emailSequence.incrementAndGet() + "-" + System.nanoTime() + "@example.com";
+        HttpResponse<String> verify = http.postJson("POST /users/email/verify", "/users/email/verify",
+                "{\"email\":\"" + email + "\"}", null);
+        if (!ok(verify)) return null;
+
+        String body = smtp.lastBody(email);
+        Matcher matcher = body == null ? null : VERIFY_TOKEN.matcher(body);
+        if (matcher == null || !matcher.find()) return null;
+
+        HttpResponse<String> signup = http.postJson("POST /users/signup", "/users/signup",
+                "{\"email\":\"" + email + "\",\"pwd\":\"" + PASSWORD + "\",\"name\":\"Load Tester\","
+                        + "\"birthDate\":\"1995-05-05\",\"profileImageUrl\":\"\",\"token\":\"" + matcher.group(1) + "\"}",
+                null);
+        if (!ok(signup)) return null;
+        return login(http, email);
+    }
+
+    private SeededUser login(LoadClient http, String email) {
+        HttpResponse<String> response = http.postJson("POST /users/login", "/users/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        if (!ok(response)) return null;
+        String token = response.headers().firstValue("token").orElse(null);
+        String userId = response.headers().firstValue("userId").orElseGet(() -> {
+            Matcher matcher = USER_ID.matcher(response.body());
+            return matcher.find() ? matcher.group(1) : null;
+        });
+        return new SeededUser(email, userId, token);
+    }
+
+    // 조회 90%, 수정 10%
+    private void profileMix() {
+        SeededUser user = randomUser();
+        if (ThreadLocalRandom.current().nextInt(10) == 0) {
+            client.putJson("PUT /users/profile", "/users/profile",
+                    "{\"name\":\"Load Tester " + ThreadLocalRandom.current().nextInt(1000) + "\","
+                            + "\"birthDate\":\"1995-05-05\",\"profileImageUrl\":\"\",\"theme\":\"DARK\"}",
+                    user.token);
+        } else {
+            client.get("GET /users/profile", "/users/profile", user.token);
+        }
+    }
+
+    private void avatarUpload() {
+        SeededUser user = randomUser();
+        client.postMultipart("POST /users/{userId}/profile-image", "/users/" + user.userId + "/profile-image",
+                user.token, "avatar.png", "image/png", avatar);
+    }
+
+    private void digestBurst() {
+        SeededUser user = randomUser();
+        client.postJson("POST /users/digest/completed", "/users/digest/completed",
+                "{\"id\":\"" + user.userId + "\",\"title\":\"주간 다이어리\",\"periodStart\":\"2025-01-06\","
+                        + "\"periodEnd\":\"2025-01-12\",\"summary\":\"load test summary\"}",
+                null);
+    }
+
+    private SeededUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    private record SeededUser(String email, String userId, String token) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.userservice.loadtest;
+
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OciStorageConfig 대신 등록되는 스토리지 빈 (oci.objectstorage.enabled=false 로 실행)
+ */
+@Configuration
+public class LoadTestStandIns {
+
+    @Bean
+    public InMemoryObjectStorage inMemoryObjectStorage(@Value("${loadtest.storage-latency-ms:0}") long latencyMs) {
+        return new InMemoryObjectStorage(latencyMs);
+    }
+
+    @Bean
+    public ObjectStorage objectStorage(InMemoryObjectStorage storage,
+                                       @Value("${oci.objectstorage.namespace}") String namespace) {
+        return storage.asObjectStorage(namespace);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.userservice.loadtest;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 네이티브 실행 파일(-Pnative,native-smoke 로 빌드)을 H2·FakeSmtpServer 로 띄워 기본 흐름을 확인합니다.
+ * 인증 메일 → 가입 → 로그인 → 프로필 조회/수정 → 로그아웃 후 401 까지 확인하고, 기동 시간과 RSS 를 출력합니다.
+ * OCI 클라이언트는 첫 업로드 때 생성되므로 업로드는 호출하지 않습니다.
+ *
+ * 실행: java -Dloader.main=com.example.userservice.loadtest.NativeSmokeTest -jar loadtest/target/loadtest.jar --binary=target/user-service
+ * (--binary 대신 --command="java -jar target/UserService-0.0.1-SNAPSHOT-exec.jar" 로 JVM 실행과 비교 가능)
+ */
+public class NativeSmokeTest {
+
+    private static final Pattern STARTED = Pattern.compile("Started UserServiceApplication in ([0-9.]+) seconds");
+    private static final Pattern PORT = Pattern.compile("Tomcat started on port (\\d+)");
+    private static final Pattern VERIFY_TOKEN = Pattern.compile("verifyToken=([A-Za-z0-9_\\-.]+)");
+    private static final String PASSWORD = "smoke-password";
+
+    public static void main(String[] args) throws Exception {
+        List<String> command = new ArrayList<>();
+        String binary = "target/user-service";
+        for (String arg : args) {
+            if (arg.startsWith("--binary=")) binary = arg.substring("--binary=".length());
+            if (arg.startsWith("--command=")) command.addAll(List.of(arg.substring("--command=".length()).split(" ")));
+        }
+        if (command.isEmpty()) {
+            if (!new File(binary).canExecute()) {
+                System.err.println("native binary not found: " + binary + " (./mvnw -Pnative,native-smoke native:compile)");
+                System.exit(2);
+            }
+            command.add(binary);
+        }
+
+        int exitCode;
+        try (FakeSmtpServer smtp = new FakeSmtpServer(0)) {
+            command.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:smoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "--spring.mail.host=localhost",
+                    "--spring.mail.port=" + smtp.getPort(),
+                    "--spring.mail.username=smoke",
+                    "--spring.mail.password=smoke",
+                    "--spring.mail.properties.mail.smtp.auth=false",
+                    "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--app.purge.enabled=false"));
+
+            long launchedAt = System.nanoTime();
+            Process app = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try {
+                CompletableFuture<String[]> ready = new CompletableFuture<>();
+                Thread pump = new Thread(() -> pumpOutput(app, ready), "smoke-app-output");
+                pump.setDaemon(true);
+                pump.start();
+
+                String[] startup = ready.get(120, TimeUnit.SECONDS);
+                long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+                System.out.printf("started in %s s (reported), %d ms (wall), port %s, rss %s%n",
+                        startup[0], readyMillis, startup[1], rss(app.pid()));
+
+                exitCode = runFlow("http://localhost:" + startup[1], smtp) ? 0 : 1;
+                System.out.printf("rss after flow %s%n", rss(app.pid()));
+            } finally {
+                app.destroy();
+                if (!app.waitFor(20, TimeUnit.SECONDS)) app.destroyForcibly();
+            }
+        }
+        System.out.println(exitCode == 0 ? "SMOKE OK" : "SMOKE FAILED");
+        System.exit(exitCode);
+    }
+
+    private static boolean runFlow(String baseUrl, FakeSmtpServer smtp) {
+        LoadClient http = new LoadClient(baseUrl, new LatencyReport());
+        String email = "smoke-" + System.currentTimeMillis() + "@example.com";
+
+        boolean ok = check("email verify", http.postJson("POST /users/email/verify", "/users/email/verify",
+                "{\"email\":\"" + email + "\"}", null), 200);
+        String body = smtp.lastBody(email);
+        Matcher token = body == null ? null : VERIFY_TOKEN.matcher(body);
+        if (token == null || !token.find()) {
+            System.out.println("FAIL verification mail not received");
+            return false;
+        }
+        ok &= check("signup", http.postJson("POST /users/signup", "/users/signup",
+                "{\"email\":\"" + email + "\",\"pwd\":\"" + PASSWORD + "\",\"name\":\"Smoke\","
+                        + "\"birthDate\":\"1995-05-05\",\"profileImageUrl\":\"\",\"token\":\"" + token.group(1) + "\"}",
+                null), 201);
+
+        HttpResponse<String> login = http.postJson("POST /users/login", "/users/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        ok &= check("login", login, 200);
+        String jwt = login == null ? null : login.headers().firstValue("token").orElse(null);
+
+        ok &= check("profile", http.get("GET /users/profile", "/users/profile", jwt), 200);
+        ok &= check("profile update", http.putJson("PUT /users/profile", "/users/profile",
+                "{\"name\":\"Smoke 2\",\"birthDate\":\"1995-05-05\",\"profileImageUrl\":\"\",\"theme\":\"DARK\"}",
+                jwt), 200);
+        ok &= check("jwks", http.get("GET /.well-known/jwks.json", "/.well-known/jwks.json", null), 200);
+        ok &= check("logout", http.postJson("POST /users/logout", "/users/logout", "", jwt), 200);
+        ok &= check("profile after logout", http.get("GET /users/profile", "/users/profile", jwt), 401);
+        return ok;
+    }
+
+    private static boolean check(String step, HttpResponse<String> response, int expectedStatus) {
+        int status = response == null ? -1 : response.statusCode();
+        boolean ok = status == expectedStatus;
+        System.out.printf("%s %s (status %d, expected %d)%n", ok ? "OK  " : "FAIL", step, status, expectedStatus);
+        return ok;
+    }
+
+    // 앱 로그를 그대로 보여주면서 기동 완료(시간·포트)를 알림
+    private static void pumpOutput(Process app, CompletableFuture<String[]> ready) {
+        String port = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(app.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                System.out.println("[app] " + line);
+                Matcher portMatcher = PORT.matcher(line);
+                // 서비스 포트가 먼저 뜨고 관리 포트가 뒤따르므로 첫 번째 포트를 사용
+                if (port == null && portMatcher.find()) port = portMatcher.group(1);
+                Matcher started = STARTED.matcher(line);
+                if (started.find()) ready.complete(new String[]{started.group(1), port});
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료
+        }
+        ready.completeExceptionally(new IllegalStateException("application exited before startup completed"));
+    }
+
+    private static String rss(long pid) {
+        try {
+            return Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst().orElse("n/a");
+        } catch (IOException e) {
+            return "n/a";
+        }
+    }
+}
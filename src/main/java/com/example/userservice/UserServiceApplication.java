@@ -1,14 +1,16 @@
 package com.example.userservice;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import com.example.userservice.security.TimedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
@@ -16,15 +18,8 @@ public class UserServiceApplication {
 	}
 
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
-	@Bean
-	public ModelMapper modelMapper() {
-		ModelMapper mapper = new ModelMapper();
-		mapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-		return mapper;
+	public BCryptPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+		return new TimedBCryptPasswordEncoder(meterRegistry);
 	}
 
 	@Bean
@@ -0,0 +1,37 @@
+package com.example.userservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 접근 로그 샘플링 설정 (application.yml: app.access-log)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    // 링 버퍼 크기 (가득 차면 버리고 access.log.dropped 증가)
+    private int bufferSize = 8192;
+
+    // 기록 스레드가 비어 있는 버퍼를 다시 확인하는 간격
+    private long drainIntervalMs = 50;
+
+    // 기본 샘플링 비율 (0.0 ~ 1.0)
+    private double sampleRate = 0.05;
+
+    // 이 시간 이상 걸린 요청과 5xx·예외는 항상 기록
+    private long slowThresholdMs = 500;
+
+    // 경로 패턴별 비율 (예: /users/profile, /actuator/prometheus)
+    private Map<String, Double> routeSampleRates = new LinkedHashMap<>();
+
+    // 상태 코드별 비율, 경로보다 우선 (예: 404, 4xx)
+    private Map<String, Double> statusSampleRates = new LinkedHashMap<>();
+}
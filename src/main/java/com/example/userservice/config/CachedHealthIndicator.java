@@ -0,0 +1,40 @@
+package com.example.userservice.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Instant;
+
+/**
+ * 의존 서비스 상태를 HealthCheckScheduler 가 주기적으로 확인해 두고, 프로브에는 마지막 결과만 돌려줍니다.
+ * 파드 3개의 liveness·readiness 프로브마다 DB 쿼리나 SMTP 연결이 생기지 않도록 health() 는 I/O 를 하지 않습니다.
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private volatile Health last = Health.unknown().withDetail("reason", "not checked yet").build();
+
+    // 확인 주기 (ms)
+    protected abstract long intervalMs();
+
+    // 실제 확인. 예외를 던지면 DOWN 으로 기록
+    protected abstract Health check() throws Exception;
+
+    @Override
+    public Health health() {
+        return last;
+    }
+
+    void refresh() {
+        long start = System.nanoTime();
+        Health.Builder builder;
+        try {
+            Health result = check();
+            builder = Health.status(result.getStatus()).withDetails(result.getDetails());
+        } catch (Exception e) {
+            builder = Health.down(e);
+        }
+        last = builder.withDetail("checkedAt", Instant.now().toString())
+                .withDetail("checkMs", (System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+}
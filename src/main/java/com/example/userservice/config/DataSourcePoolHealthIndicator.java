@@ -0,0 +1,61 @@
+package com.example.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 커넥션 풀 포화 여부. 모든 커넥션이 사용 중이고 대기 스레드가 있는 상태가 saturated-samples 번 연속되면
+ * OUT_OF_SERVICE 로 바꿔 readiness 에서 빠지게 합니다 (포화가 풀리면 다음 확인에서 바로 UP).
+ * 풀 MXBean 값만 읽으므로 DB 에는 접속하지 않습니다.
+ */
+@Component("dbPoolHealthIndicator")
+public class DataSourcePoolHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final long intervalMs;
+    private final int saturatedSamples;
+    private int consecutiveSaturated;   // 확인 스레드에서만 변경
+
+    public DataSourcePoolHealthIndicator(DataSource dataSource,
+                                         @Value("${app.health.db-pool.interval-ms:2000}") long intervalMs,
+                                         @Value("${app.health.db-pool.saturated-samples:3}") int saturatedSamples) {
+        this.dataSource = dataSource;
+        this.intervalMs = intervalMs;
+        this.saturatedSamples = saturatedSamples;
+    }
+
+    @Override
+    protected long intervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    protected Health check() throws Exception {
+        // 복제본 라우팅을 켜도 트랜잭션 밖에서는 primary 풀이 나옴
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return Health.unknown().withDetail("reason", "not a Hikari pool").build();
+        }
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "pool not started").build();
+        }
+
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        int max = hikari.getMaximumPoolSize();
+        consecutiveSaturated = (waiting > 0 && active >= max) ? consecutiveSaturated + 1 : 0;
+
+        Health.Builder builder = consecutiveSaturated >= saturatedSamples ? Health.outOfService() : Health.up();
+        return builder.withDetail("active", active)
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("max", max)
+                .withDetail("waiting", waiting)
+                .build();
+    }
+}
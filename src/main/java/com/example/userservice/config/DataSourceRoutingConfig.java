@@ -0,0 +1,84 @@
+package com.example.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationBeanPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * app.datasource.routing.enabled=true 일 때 primary + 복제본 풀을 구성합니다.
+ * 복제본 풀은 primary 의 spring.datasource.hikari 설정을 그대로 이어받고 접속 정보만 바꿉니다.
+ * 풀이 빈으로 등록되지 않아 자동 메트릭 연결이 안 되므로, hikaricp.* 메트릭은 여기서 직접 연결합니다 (pool 태그 = 풀 이름).
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean(autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             ReplicaRoutingProperties routing,
+                                                             Environment env,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = createPool(properties, env, meterRegistry, "primary",
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+
+        LinkedHashMap<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = routing.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            String name = "replica-" + i;
+            replicas.put(name, createPool(properties, env, meterRegistry, name,
+                    replica.getUrl(), replica.getUsername(), replica.getPassword()));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, routing.getHealthCheckTimeoutSeconds());
+    }
+
+    // 트랜잭션의 readOnly 여부가 정해진 뒤 첫 쿼리 시점에 커넥션을 고르도록 지연 프록시로 감쌈
+    // JDBC 관측 프록시(datasource-micrometer)는 커넥션을 받자마자 메타데이터를 읽으므로 지연 프록시 안쪽에 둠
+    // (바깥에서 감싸면 readOnly 가 정해지기 전에 커넥션을 얻어 모든 조회가 primary 로 감, 바깥 빈은 jdbc.excluded-data-source-bean-names 로 제외)
+    @Bean
+    @Primary
+    public DataSource routingDataSource(DataSourceProperties properties, ReplicaRoutingProperties routing,
+                                        Environment env, ObjectProvider<MeterRegistry> meterRegistry,
+                                        ObjectProvider<DataSourceObservationBeanPostProcessor> observation) {
+        DataSource target = replicaRoutingDataSource(properties, routing, env, meterRegistry);
+        DataSourceObservationBeanPostProcessor postProcessor = observation.getIfAvailable();
+        if (postProcessor != null) {
+            // 라우팅을 끈 경우와 같은 이름으로 기록
+            target = (DataSource) postProcessor.postProcessAfterInitialization(target, "dataSource");
+        }
+        return new LazyConnectionDataSourceProxy(target);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, Environment env,
+                                        ObjectProvider<MeterRegistry> meterRegistry,
+                                        String name, String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        meterRegistry.ifAvailable(registry ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
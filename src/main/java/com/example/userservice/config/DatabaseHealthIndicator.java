@@ -0,0 +1,42 @@
+package com.example.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * primary DB 연결 확인 (커넥션 하나를 빌려 isValid). 기본 db 헬스 체크를 대신하며 readiness 그룹에 포함됩니다.
+ */
+@Component("dbHealthIndicator")
+public class DatabaseHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final long intervalMs;
+    private final int timeoutSeconds;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${app.health.db.interval-ms:10000}") long intervalMs,
+                                   @Value("${app.health.db.timeout-seconds:2}") int timeoutSeconds) {
+        this.dataSource = dataSource;
+        this.intervalMs = intervalMs;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    protected long intervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    protected Health check() throws Exception {
+        // 트랜잭션 밖이므로 복제본 라우팅을 켜도 primary 로 연결
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(timeoutSeconds)
+                    ? Health.up().build()
+                    : Health.down().withDetail("reason", "connection is not valid").build();
+        }
+    }
+}
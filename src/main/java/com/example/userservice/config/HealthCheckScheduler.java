@@ -0,0 +1,50 @@
+package com.example.userservice.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CachedHealthIndicator 들을 각자의 주기로 확인합니다.
+ * 공용 @Scheduled 스레드(정리 작업·아웃박스 전송)에 밀리거나, 느린 확인(SMTP 타임아웃, 풀 고갈 시 커넥션 대기)이
+ * 다른 확인을 막지 않도록 항목마다 전용 스레드를 씁니다.
+ * 컨텍스트 refresh 후(워밍업 전)에 시작해 기동 시간에는 영향을 주지 않고, readiness 전에 첫 결과가 채워집니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HealthCheckScheduler {
+
+    private final List<CachedHealthIndicator> indicators;
+    private ScheduledExecutorService executor;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(indicators.size(), runnable -> {
+            Thread thread = new Thread(runnable, "health-check-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (CachedHealthIndicator indicator : indicators) {
+            executor.scheduleWithFixedDelay(indicator::refresh, 0, indicator.intervalMs(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Started {} background health checks", indicators.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
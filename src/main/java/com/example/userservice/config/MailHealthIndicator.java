@@ -0,0 +1,36 @@
+package com.example.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/**
+ * SMTP 연결·인증 확인. 기본 mail 헬스 체크(프로브마다 SMTP 연결)를 대신합니다.
+ * 메일이 안 돼도 로그인·조회는 가능하므로 readiness 에는 넣지 않습니다.
+ */
+@Component("mailHealthIndicator")
+public class MailHealthIndicator extends CachedHealthIndicator {
+
+    private final JavaMailSenderImpl mailSender;
+    private final long intervalMs;
+
+    public MailHealthIndicator(JavaMailSenderImpl mailSender,
+                               @Value("${app.health.mail.interval-ms:60000}") long intervalMs) {
+        this.mailSender = mailSender;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    protected long intervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    protected Health check() throws Exception {
+        mailSender.testConnection();
+        return Health.up()
+                .withDetail("location", mailSender.getHost() + ":" + mailSender.getPort())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.userservice.config;
+
+import com.example.userservice.dto.UserChangeEvent;
+import com.example.userservice.service.AccessLogWriter;
+import com.example.userservice.vo.RequestLogin;
+import com.example.userservice.vo.ResponseUser;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * 네이티브 이미지(-Pnative)에서 Spring AOT 가 찾지 못하는 리플렉션·리소스를 등록합니다.
+ * (컨트롤러 @RequestBody/@ResponseBody 타입과 JPA 엔티티는 AOT 가 자동으로 등록)
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeRuntimeHints.Registrar.class)
+public class NativeRuntimeHints {
+
+    // jjwt-api 는 구현체를 클래스 이름으로 찾아 생성 (Classes.newInstance / Classes.forName)
+    private static final List<String> JJWT_IMPL_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            // ServiceLoader 로 찾는 JSON 직렬화 구현
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : JJWT_IMPL_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            // 컨트롤러 밖에서 ObjectMapper 로 직접 읽고 쓰는 타입 (로그인 필터, 아웃박스 직렬화, 접근 로그)
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(),
+                    RequestLogin.class, ResponseUser.class, UserChangeEvent.class,
+                    AccessLogWriter.AccessLogEntry.class);
+        }
+    }
+}
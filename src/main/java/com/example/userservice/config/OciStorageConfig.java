@@ -8,14 +8,20 @@ import com.oracle.bmc.objectstorage.ObjectStorage;
 import com.oracle.bmc.objectstorage.ObjectStorageClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+// oci.objectstorage.enabled=false 이면 등록하지 않음 (부하 테스트 등에서 다른 ObjectStorage 를 주입할 때)
 @Configuration
 @Slf4j
+@ConditionalOnProperty(prefix = "oci.objectstorage", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class OciStorageConfig {
 
+    // 설정 파싱과 Jersey 클라이언트 생성은 첫 업로드 때 수행 (기동 시간 단축, OciStorageService 는 @Lazy 프록시로 주입)
     @Bean
+    @Lazy
     public ObjectStorage objectStorage(
             @Value("${oci.config.file:${user.home}/.oci/config}") String configFile,
             @Value("${oci.config.profile:DEFAULT}") String profile
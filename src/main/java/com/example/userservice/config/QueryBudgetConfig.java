@@ -0,0 +1,42 @@
+package com.example.userservice.config;
+
+import net.ttddyy.observation.boot.autoconfigure.ProxyDataSourceBuilderCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.sql.ResultSet;
+
+/**
+ * app.query-budget.mode=report|enforce 일 때 요청별 SQL 수·행 수를 셉니다 (부하 테스트·로컬 확인용, 운영은 off).
+ * datasource-micrometer 가 감싼 dataSource 프록시에 리스너를 붙이며, 행 수를 세기 위해 ResultSet 도 프록시로 감쌉니다.
+ */
+@Configuration
+@ConditionalOnExpression("'${app.query-budget.mode:off}' != 'off'")
+public class QueryBudgetConfig {
+
+    @Bean
+    public ProxyDataSourceBuilderCustomizer queryCountingCustomizer() {
+        return (builder, dataSource, beanName, dataSourceName) -> builder
+                .afterQuery((execInfo, queryInfoList) -> QueryCounter.recordQuery())
+                .proxyResultSet()
+                .afterMethod(context -> {
+                    if (context.getTarget() instanceof ResultSet
+                            && "next".equals(context.getMethod().getName())
+                            && Boolean.TRUE.equals(context.getResult())) {
+                        QueryCounter.recordRow();
+                    }
+                });
+    }
+
+    @Bean
+    public QueryBudgetReport queryBudgetReport(
+            @Value("${app.query-budget.mode}") String mode,
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        return new QueryBudgetReport("enforce".equalsIgnoreCase(mode), handlerMapping);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.userservice.config;
+
+import com.example.userservice.controller.QueryBudget;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로별 실제 SQL 수·행 수를 모으고 @QueryBudget 과 비교합니다.
+ * enforce 모드에서는 초과한 요청을 위반으로 기록하고 로그를 남기며, 부하 테스트는 위반이 있으면 실패합니다.
+ * 보고서는 종료 시 로그로도 남깁니다.
+ */
+@Slf4j
+public class QueryBudgetReport {
+
+    // 404 스캔 등으로 경로가 계속 늘어나지 않도록 제한 (넘으면 나머지는 합쳐서 기록)
+    private static final int MAX_ROUTES = 200;
+    private static final String OTHER_ROUTE = "(other)";
+
+    private final boolean enforce;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public QueryBudgetReport(boolean enforce, ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.enforce = enforce;
+        this.handlerMapping = handlerMapping;
+    }
+
+    public boolean isEnforced() {
+        return enforce;
+    }
+
+    public void record(HttpServletRequest request, QueryCounter counter) {
+        HandlerMethod handler = resolveHandler(request);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        QueryBudget budget = handler != null ? handler.getMethodAnnotation(QueryBudget.class) : null;
+
+        RouteStats stats = routes.get(route);
+        if (stats == null) {
+            String key = routes.size() < MAX_ROUTES ? route : OTHER_ROUTE;
+            stats = routes.computeIfAbsent(key, k -> new RouteStats(k, OTHER_ROUTE.equals(k) ? null : budget));
+        }
+        int queries = counter.getQueries();
+        int rows = counter.getRows();
+        if (stats.record(queries, rows) && enforce) {
+            log.error("Query budget exceeded [route={} queries={}/{} rows={}/{}]", route,
+                    queries, stats.budget.queries(), rows, stats.budget.rows() < 0 ? "-" : stats.budget.rows());
+        }
+    }
+
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (RouteStats stats : sortedRoutes()) {
+            long count = stats.violations.sum();
+            if (count > 0) {
+                violations.add(String.format("%s max %d queries / %d rows, budget %s (%d requests over)",
+                        stats.route, stats.maxQueries.get(), stats.maxRows.get(), stats.budgetText(), count));
+            }
+        }
+        return violations;
+    }
+
+    // 경로의 최대 SQL 수 (기록이 없으면 0)
+    int maxQueries(String route) {
+        RouteStats stats = routes.get(route);
+        return stats == null ? 0 : stats.maxQueries.get();
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format("%-44s %15s %8s %9s %9s %9s %9s %7s%n",
+                "route", "budget q/rows", "count", "avg q", "max q", "avg rows", "max rows", "over"));
+        for (RouteStats stats : sortedRoutes()) {
+            long count = stats.requests.sum();
+            out.append(String.format("%-44s %15s %8d %9.2f %9d %9.2f %9d %7d%n",
+                    stats.route, stats.budgetText(), count,
+                    (double) stats.totalQueries.sum() / count, stats.maxQueries.get(),
+                    (double) stats.totalRows.sum() / count, stats.maxRows.get(),
+                    stats.violations.sum()));
+        }
+        return out.toString();
+    }
+
+    @PreDestroy
+    public void logReport() {
+        if (!routes.isEmpty()) {
+            log.info("Query budget report (mode={}):\n{}", enforce ? "enforce" : "report", format());
+        }
+    }
+
+    private List<RouteStats> sortedRoutes() {
+        return routes.values().stream()
+                .filter(stats -> stats.requests.sum() > 0)
+                .sorted(Comparator.comparing(stats -> stats.route))
+                .toList();
+    }
+
+    // 컨트롤러까지 간 요청은 디스패처가 남긴 핸들러, 보안 필터에서 끝난 요청(로그인 등)은 매핑을 다시 조회
+    private HandlerMethod resolveHandler(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler;
+        }
+        RequestMappingHandlerMapping mapping = handlerMapping.getIfAvailable();
+        if (mapping == null) return null;
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain chain = mapping.getHandler(request);
+            return chain != null && chain.getHandler() instanceof HandlerMethod handler ? handler : null;
+        } catch (Exception e) {
+            return null;   // 지원하지 않는 메서드·미디어 타입 등
+        } finally {
+            ServletRequestPathUtils.clearParsedRequestPath(request);
+        }
+    }
+
+    private static final class RouteStats {
+        private final String route;
+        private final QueryBudget budget;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder totalQueries = new LongAdder();
+        private final LongAdder totalRows = new LongAdder();
+        private final AtomicInteger maxQueries = new AtomicInteger();
+        private final AtomicInteger maxRows = new AtomicInteger();
+        private final LongAdder violations = new LongAdder();
+
+        private RouteStats(String route, QueryBudget budget) {
+            this.route = route;
+            this.budget = budget;
+        }
+
+        // 예산을 넘었으면 true
+        private boolean record(int queries, int rows) {
+            requests.increment();
+            totalQueries.add(queries);
+            totalRows.add(rows);
+            maxQueries.accumulateAndGet(queries, Math::max);
+            maxRows.accumulateAndGet(rows, Math::max);
+            boolean over = budget != null
+                    && (queries > budget.queries() || (budget.rows() >= 0 && rows > budget.rows()));
+            if (over) violations.increment();
+            return over;
+        }
+
+        private String budgetText() {
+            if (budget == null) return "-";
+            return budget.queries() + "/" + (budget.rows() < 0 ? "-" : String.valueOf(budget.rows()));
+        }
+    }
+}
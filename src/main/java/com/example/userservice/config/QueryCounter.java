@@ -0,0 +1,63 @@
+package com.example.userservice.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 요청 하나에서 실행한 SQL 수와 읽은 행 수. QueryBudgetFilter 가 요청 스레드에 붙이고 떼며,
+ * 카운터가 없는 스레드(스케줄러, 접근 로그 등)의 쿼리는 세지 않습니다.
+ * 다른 스레드에서 실행하는 요청 작업(샤드 fan-out)은 propagate 로 같은 카운터에 더합니다.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicInteger rows = new AtomicInteger();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        QueryCounter counter = CURRENT.get();
+        if (counter == null) return work;
+        return () -> {
+            QueryCounter previous = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                return work.get();
+            } finally {
+                if (previous != null) CURRENT.set(previous);
+                else CURRENT.remove();
+            }
+        };
+    }
+
+    static void recordQuery() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) counter.queries.incrementAndGet();
+    }
+
+    static void recordRow() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) counter.rows.incrementAndGet();
+    }
+
+    public int getQueries() {
+        return queries.get();
+    }
+
+    public int getRows() {
+        return rows.get();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 사용자가 방금 수정한 데이터를 복제 지연 때문에 못 읽는 일을 막습니다.
+ * 쓰기 후 일정 시간(read-your-writes-window-ms) 동안 같은 키의 조회는 primary로 고정합니다.
+ * 파드 단위로만 기억하므로 다른 파드로 간 요청은 복제본에서 읽을 수 있습니다.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long windowMs;
+
+    public ReadYourWritesTracker(
+            @Value("${app.datasource.routing.enabled:false}") boolean enabled,
+            @Value("${app.datasource.routing.read-your-writes-window-ms:5000}") long windowMs) {
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+    }
+
+    // 쓰기 기록 (userId, email 등 이후 조회에 쓰일 키)
+    public void recordWrite(String... keys) {
+        if (!enabled) return;
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            if (key != null) lastWrites.put(key, now);
+        }
+    }
+
+    // 최근에 쓴 키라면 primary에서, 아니면 라우팅 규칙대로 조회
+    public <T> T read(String key, Supplier<T> query) {
+        if (!isRecentlyWritten(key)) {
+            return query.get();
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    static boolean isPrimaryPinned() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    // 쓰기 후 일정 시간 안인지 (라우팅을 쓰지 않으면 항상 false)
+    public boolean isRecentlyWritten(String key) {
+        if (!enabled) return false;
+        Long writtenAt = lastWrites.get(key);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMs;
+    }
+
+    // 만료된 기록 정리
+    @Scheduled(fixedDelayString = "${app.datasource.routing.read-your-writes-window-ms:5000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * readOnly 트랜잭션은 정상 상태의 복제본으로, 그 외(쓰기, 트랜잭션 없음)는 primary로 보냅니다.
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 얻어야 하므로 LazyConnectionDataSourceProxy 뒤에서 사용합니다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    LinkedHashMap<String, DataSource> replicas,
+                                    int healthCheckTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // 첫 검사 전까지는 정상으로 간주
+        healthyReplicas.addAll(replicaKeys);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesTracker.isPrimaryPinned()) {
+            return PRIMARY;
+        }
+        // 정상 복제본 라운드로빈, 모두 비정상이면 primary로 대체
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+            if (healthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // 복제본 연결 상태 점검
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach((key, dataSource) -> {
+            boolean healthy;
+            try (Connection connection = dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+            if (healthy && healthyReplicas.add(key)) {
+                log.info("Replica {} is healthy again, routing reads to it", key);
+            } else if (!healthy && healthyReplicas.remove(key)) {
+                log.warn("Replica {} failed health check, routing its reads to primary", key);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(ReplicaRoutingDataSource::close);
+        close(primary);
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
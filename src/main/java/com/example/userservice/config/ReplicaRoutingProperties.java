@@ -0,0 +1,36 @@
+package com.example.userservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 복제본 라우팅 설정 (application.yml: app.datasource.routing)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    // 복제본 연결 검사 주기와 검사 타임아웃
+    private long healthCheckIntervalMs = 5000;
+    private int healthCheckTimeoutSeconds = 2;
+
+    // 본인이 수정한 데이터를 이 시간 동안은 primary에서 읽음
+    private long readYourWritesWindowMs = 5000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.userservice.config;
+
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 레플리카 3대 중 한 곳에서만 실행해야 하는 @Scheduled 작업용 분산 잠금 (shedlock 테이블)
+ */
+@Configuration
+@EnableSchedulerLock(defaultLockAtMostFor = "PT30M")
+public class SchedulerLockConfig {
+
+    @Bean
+    public LockProvider lockProvider(JdbcTemplate jdbcTemplate) {
+        return new JdbcTemplateLockProvider(JdbcTemplateLockProvider.Configuration.builder()
+                .withJdbcTemplate(jdbcTemplate)
+                .usingDbTime()   // 파드 간 시계 차이 대신 DB 시각 기준
+                .build());
+    }
+}
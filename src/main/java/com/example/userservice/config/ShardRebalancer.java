@@ -0,0 +1,126 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.UuidBinaryConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 샤드를 늘린 뒤 회원을 새 위치(ShardRouter.placementOf)로 옮기고, 모든 회원을 디렉터리에 기록합니다.
+ *
+ * 절차: 1) shards 에 새 샤드를 추가하고 previous-shard-count 에 이전 샤드 수를 설정해 배포
+ *          (재배치 중 userId 조회는 디렉터리 → 이전 샤드 수 순서로 위치를 찾음)
+ *       2) rebalance.run=true 로 일회성 실행 (중단돼도 다시 실행하면 이어서 처리)
+ *       3) previous-shard-count 를 지우고 배포
+ *
+ * 회원 한 명씩 대상 샤드에 복사 → 디렉터리 갱신 → 원본 삭제(version 이 그대로일 때만) 순서로 옮깁니다.
+ * 복사 후 원본이 수정됐으면 되돌리고 다음 실행으로 미룹니다. 복사본도 그 사이 수정됐으면 복사본을 남깁니다.
+ * 대기 중인 outbox 행은 원래 샤드에서 그대로 전송됩니다.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private final List<JdbcTemplate> shards;
+    private final UserShardDirectory directory;
+    private final ShardRouter router;
+    private final int batchSize;
+
+    public ShardRebalancer(List<DataSource> shardDataSources, UserShardDirectory directory,
+                           ShardRouter router, int batchSize) {
+        this.shards = shardDataSources.stream().map(JdbcTemplate::new).toList();
+        this.directory = directory;
+        this.router = router;
+        this.batchSize = batchSize;
+    }
+
+    public Result rebalance() {
+        Result result = new Result();
+        for (int source = 0; source < shards.size(); source++) {
+            long afterId = 0;
+            List<Map<String, Object>> rows;
+            do {
+                rows = shards.get(source).queryForList(
+                        "SELECT * FROM users WHERE id > ? ORDER BY id LIMIT ?", afterId, batchSize);
+                for (Map<String, Object> row : rows) {
+                    afterId = ((Number) row.get("id")).longValue();
+                    rebalanceUser(source, row, result);
+                }
+            } while (rows.size() == batchSize);
+            log.info("Rebalanced shard {} [scanned={}, moved={}, skipped={}]",
+                    source, result.scanned, result.moved, result.skipped);
+        }
+        return result;
+    }
+
+    private void rebalanceUser(int source, Map<String, Object> row, Result result) {
+        result.scanned++;
+        byte[] userIdBytes = (byte[]) row.get("user_id");
+        String userId = UuidBinaryConverter.fromBytes(userIdBytes);
+        String email = (String) row.get("email");
+        long version = ((Number) row.get("version")).longValue();
+        int target = router.placementOf(userId);
+        if (target == source) {
+            directory.put(userId, email, source);   // 백필
+            return;
+        }
+
+        JdbcTemplate from = shards.get(source);
+        JdbcTemplate to = shards.get(target);
+        // 이전 실행에서 복사만 된 경우: 대상 쪽이 더 최신이면 그대로 두고 원본만 정리
+        List<Long> copied = to.queryForList("SELECT version FROM users WHERE user_id = ?", Long.class, userIdBytes);
+        long copiedVersion;
+        if (copied.isEmpty() || copied.get(0) < version) {
+            to.update("DELETE FROM users WHERE user_id = ?", (Object) userIdBytes);
+            insertCopy(to, row);
+            copiedVersion = version;
+        } else {
+            copiedVersion = copied.get(0);
+        }
+        directory.put(userId, email, target);
+
+        if (from.update("DELETE FROM users WHERE id = ? AND version = ?", row.get("id"), version) == 0) {
+            // 복사 후 원본이 바뀜: 되돌리고 다음 실행에서 다시 옮김
+            // 디렉터리를 바꾼 뒤 대상으로 간 쓰기가 있으면 복사본이 최신이므로 지우지 않고 대상에 둠
+            // (다음 실행에서 복사본이 원본보다 새것이 아니면 원본으로 다시 덮음)
+            if (to.update("DELETE FROM users WHERE user_id = ? AND version = ?", userIdBytes, copiedVersion) == 0) {
+                log.warn("Both copies changed during move, keeping the target copy [userId={}, source={}, target={}]",
+                        userId, source, target);
+            } else {
+                directory.put(userId, email, source);
+            }
+            result.skipped++;
+            return;
+        }
+        result.moved++;
+    }
+
+    // id 는 샤드마다 따로 증가하므로 대상 샤드에서 새로 부여
+    private static void insertCopy(JdbcTemplate to, Map<String, Object> row) {
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        row.forEach((column, value) -> {
+            if (!"id".equalsIgnoreCase(column)) {
+                columns.add(column);
+                values.add(value);
+            }
+        });
+        String sql = "INSERT INTO users (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+        to.update(sql, values.toArray());
+    }
+
+    public static class Result {
+        private long scanned;
+        private long moved;
+        private long skipped;
+
+        @Override
+        public String toString() {
+            return "scanned=" + scanned + ", moved=" + moved + ", skipped=" + skipped;
+        }
+    }
+}
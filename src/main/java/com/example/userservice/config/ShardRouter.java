@@ -0,0 +1,186 @@
+package com.example.userservice.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 회원 데이터가 있는 샤드를 정하고, 그 샤드에서 작업을 실행합니다.
+ * 샤드는 userId(UUID) 의 jump consistent hash 로 정하므로 샤드를 늘려도 옮겨야 하는 회원은 약 1/N 입니다.
+ * 이메일 조회는 UserShardDirectory 로 샤드를 찾습니다.
+ *
+ * 샤딩을 끄면(app.sharding.enabled=false) 샤드 하나로 동작하고 모든 메서드가 작업을 그대로 실행합니다.
+ * 샤드는 트랜잭션의 첫 쿼리 때 정해지므로, 트랜잭션은 onShard/onUser 안에서 시작해야 합니다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardRouter {
+
+    private final int shardCount;
+    private final int previousShardCount;
+    private final UserShardDirectory directory;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardRouter(ShardingProperties properties, ObjectProvider<UserShardDirectory> directory) {
+        boolean enabled = properties.isEnabled();
+        this.shardCount = enabled ? properties.getShards().size() : 1;
+        this.previousShardCount = enabled ? properties.getPreviousShardCount() : 0;
+        this.directory = enabled ? directory.getObject() : null;
+        if (shardCount > 1) {
+            int threads = properties.getFanOutThreads() > 0 ? properties.getFanOutThreads() : shardCount;
+            AtomicInteger counter = new AtomicInteger();
+            this.fanOutExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "shard-fan-out-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            log.info("Users sharded across {} datasources (previous shard count: {})", shardCount, previousShardCount);
+        } else {
+            this.fanOutExecutor = null;
+        }
+    }
+
+    public boolean isSharded() {
+        return directory != null;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    // 새 회원(또는 재배치 완료 후)의 위치
+    public int placementOf(String userId) {
+        return jumpHash(keyOf(userId), shardCount);
+    }
+
+    // 현재 위치: 재배치 중이면 디렉터리를 우선, 아직 옮기지 않은 회원은 이전 샤드 수 기준
+    public int shardOfUser(String userId) {
+        if (!isSharded()) return ShardRoutingDataSource.HOME_SHARD;
+        if (previousShardCount > 0) {
+            return directory.findShardByUserId(userId)
+                    .orElseGet(() -> jumpHash(keyOf(userId), previousShardCount));
+        }
+        return placementOf(userId);
+    }
+
+    /**
+     * 신규 가입: 새 회원의 샤드를 정하고 이메일을 선점합니다. 이미 다른 회원이 쓰는 이메일이면 예외.
+     */
+    public int assignNewUser(String userId, String email) {
+        if (!isSharded()) return ShardRoutingDataSource.HOME_SHARD;
+        int shard = placementOf(userId);
+        if (!directory.claim(userId, email, shard)) {
+            throw new IllegalArgumentException("이미 사용 중인 이메일입니다.");
+        }
+        return shard;
+    }
+
+    // 신규 가입 저장이 실패했을 때 선점한 이메일 반환
+    public void releaseNewUser(String userId) {
+        if (!isSharded()) return;
+        directory.remove(userId);
+    }
+
+    /**
+     * 정리(삭제·익명화)한 회원의 디렉터리 항목을 지웁니다. 그 사이 복구 가입 등으로 남아 있는 회원은 그대로 둡니다.
+     */
+    public void releasePurgedUsers(int shard, List<String> userIds) {
+        if (!isSharded() || userIds.isEmpty()) return;
+        directory.releasePurged(shard, userIds);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (!isSharded()) return work.get();
+        Integer previous = ShardRoutingDataSource.currentShard();
+        ShardRoutingDataSource.setCurrentShard(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardRoutingDataSource.setCurrentShard(previous);
+        }
+    }
+
+    public <T> T onUser(String userId, Supplier<T> work) {
+        return onShard(shardOfUser(userId), work);
+    }
+
+    /**
+     * 이메일로 찾는 작업: 디렉터리에 있으면 그 샤드만 확인합니다.
+     * 디렉터리에 없으면 재배치 중(백필 전 가입자가 있을 수 있음)에만 found 를 만족할 때까지 샤드를 차례로 확인하고,
+     * 그 외에는 없는 이메일이므로 0번 샤드에서 한 번만 실행합니다 (신규 가입 이메일 확인이 샤드 수만큼 늘지 않도록).
+     */
+    public <T> T onEmail(String email, Supplier<T> work, Predicate<T> found) {
+        if (!isSharded()) return work.get();
+        Integer shard = directory.findShardByEmail(email).orElse(null);
+        if (shard != null) {
+            return onShard(shard, work);
+        }
+        if (previousShardCount == 0) {
+            return onShard(ShardRoutingDataSource.HOME_SHARD, work);
+        }
+        T result = null;
+        for (int i = 0; i < shardCount; i++) {
+            result = onShard(i, work);
+            if (found.test(result)) return result;
+        }
+        return result;
+    }
+
+    /**
+     * 모든 샤드에서 동시에 실행하고 샤드 순서대로 결과를 모읍니다 (목록·집계).
+     */
+    public <T> List<T> fanOut(Supplier<T> work) {
+        if (fanOutExecutor == null) return List.of(onShard(ShardRoutingDataSource.HOME_SHARD, work));
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            futures.add(CompletableFuture.supplyAsync(
+                    QueryCounter.propagate(() -> onShard(shard, work)), fanOutExecutor));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+
+    // 랜덤 UUID 는 두 절반이 모두 고르게 분포하므로 XOR 만으로 키를 만듦
+    private static long keyOf(String userId) {
+        UUID uuid = UUID.fromString(userId);
+        return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+    }
+
+    // Lamping & Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    static int jumpHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShardRouter 가 정한 현재 스레드의 샤드로 커넥션을 보냅니다. 지정하지 않으면 0번(홈) 샤드.
+ * 트랜잭션마다 첫 쿼리 시점에 샤드가 정해지도록 LazyConnectionDataSourceProxy 뒤에서 사용합니다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final int HOME_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < this.shards.size(); i++) {
+            targets.put(i, this.shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(this.shards.get(HOME_SHARD));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = CURRENT_SHARD.get();
+        return shard == null ? HOME_SHARD : shard;
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public DataSource shard(int index) {
+        return shards.get(index);
+    }
+
+    static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void setCurrentShard(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        shards.forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
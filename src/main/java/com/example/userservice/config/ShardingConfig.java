@@ -0,0 +1,147 @@
+package com.example.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.sharding.enabled=true 일 때 users 테이블을 app.sharding.shards 의 여러 DB 로 나눕니다.
+ * 샤드 풀은 spring.datasource.hikari 설정을 이어받고 접속 정보만 바꿉니다 (hikaricp.* 메트릭 pool 태그 = shard-N).
+ * 모든 샤드에 같은 스키마(db/migration)를 적용하고, 0번 샤드에만 디렉터리 테이블(db/sharding)을 만듭니다.
+ *
+ * 요청 내내 커넥션 하나를 붙잡는 open-in-view 는 꺼야 합니다. 복제본 라우팅과도 함께 쓸 수 없습니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(autowireCandidate = false)
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties,
+                                                         ShardingProperties sharding,
+                                                         Environment env,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        checkCompatible(sharding, env);
+        List<DataSource> pools = new ArrayList<>();
+        List<ShardingProperties.Shard> shards = sharding.getShards();
+        for (int i = 0; i < shards.size(); i++) {
+            ShardingProperties.Shard shard = shards.get(i);
+            pools.add(createPool(properties, env, meterRegistry, "shard-" + i,
+                    shard.getUrl(), shard.getUsername(), shard.getPassword()));
+        }
+        return new ShardRoutingDataSource(pools);
+    }
+
+    // 트랜잭션의 첫 쿼리 시점에 현재 샤드로 커넥션을 고르도록 지연 프록시로 감쌈
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ShardingProperties sharding, Environment env,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource(properties, sharding, env, meterRegistry));
+    }
+
+    @Bean
+    public UserShardDirectory userShardDirectory(DataSourceProperties properties, ShardingProperties sharding,
+                                                 Environment env, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new UserShardDirectory(shardList(shardRoutingDataSource(properties, sharding, env, meterRegistry)));
+    }
+
+    // 기본 Flyway 는 0번 샤드만 보므로 모든 샤드에 같은 설정으로 적용
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(DataSourceProperties properties,
+                                                                  ShardingProperties sharding, Environment env,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        ShardRoutingDataSource shards = shardRoutingDataSource(properties, sharding, env, meterRegistry);
+        return flyway -> {
+            for (int i = 0; i < shards.size(); i++) {
+                Flyway.configure().configuration(flyway.getConfiguration())
+                        .dataSource(shards.shard(i))
+                        .load()
+                        .migrate();
+            }
+            // 디렉터리는 별도 이력 테이블로 관리 (기존 DB 에 처음 적용할 때도 V1 부터 실행)
+            Flyway.configure().configuration(flyway.getConfiguration())
+                    .dataSource(shards.shard(ShardRoutingDataSource.HOME_SHARD))
+                    .locations("classpath:db/sharding")
+                    .table("flyway_sharding_history")
+                    .baselineVersion("0")
+                    .load()
+                    .migrate();
+        };
+    }
+
+    // rebalance.run=true: 재배치만 실행하고 종료 (--spring.main.web-application-type=none 과 함께 일회성 작업으로)
+    @Bean
+    @ConditionalOnProperty(prefix = "app.sharding.rebalance", name = "run", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(DataSourceProperties properties, ShardingProperties sharding,
+                                                  Environment env, ObjectProvider<MeterRegistry> meterRegistry,
+                                                  UserShardDirectory directory, ShardRouter router,
+                                                  ConfigurableApplicationContext context) {
+        return args -> {
+            ShardRebalancer rebalancer = new ShardRebalancer(
+                    shardList(shardRoutingDataSource(properties, sharding, env, meterRegistry)),
+                    directory, router, sharding.getRebalance().getBatchSize());
+            log.info("Shard rebalance finished [{}]", rebalancer.rebalance());
+            System.exit(SpringApplication.exit(context, () -> 0));
+        };
+    }
+
+    private static void checkCompatible(ShardingProperties sharding, Environment env) {
+        if (sharding.getShards().isEmpty()) {
+            throw new IllegalStateException("app.sharding.enabled=true 이면 app.sharding.shards 가 필요합니다.");
+        }
+        if (sharding.getPreviousShardCount() >= sharding.getShards().size()) {
+            throw new IllegalStateException("app.sharding.previous-shard-count 는 샤드 수보다 작아야 합니다.");
+        }
+        if (env.getProperty("app.datasource.routing.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("샤딩과 복제본 라우팅(app.datasource.routing)은 함께 쓸 수 없습니다.");
+        }
+        if (env.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("샤딩을 쓰려면 spring.jpa.open-in-view=false 로 설정해야 합니다.");
+        }
+    }
+
+    private static List<DataSource> shardList(ShardRoutingDataSource shards) {
+        List<DataSource> list = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            list.add(shards.shard(i));
+        }
+        return list;
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, Environment env,
+                                        ObjectProvider<MeterRegistry> meterRegistry,
+                                        String name, String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        meterRegistry.ifAvailable(registry ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
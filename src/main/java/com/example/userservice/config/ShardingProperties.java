@@ -0,0 +1,46 @@
+package com.example.userservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * users 테이블 샤딩 설정 (application.yml: app.sharding)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // 샤드를 늘려 재배치하는 동안에만 이전 샤드 수를 설정 (디렉터리에 없는 회원은 이 수로 위치 계산)
+    private int previousShardCount = 0;
+
+    // 목록 조회를 샤드별로 동시에 실행할 스레드 수 (0 이면 샤드 수)
+    private int fanOutThreads = 0;
+
+    // 순서가 곧 샤드 번호, 0번은 샤드 디렉터리·토큰 폐기·ShedLock 도 함께 보관
+    private List<Shard> shards = new ArrayList<>();
+
+    private Rebalance rebalance = new Rebalance();
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Getter
+    @Setter
+    public static class Rebalance {
+        // true 이면 기동 후 재배치만 실행하고 종료 (일회성 작업으로 실행)
+        private boolean run = false;
+        private int batchSize = 500;
+    }
+}
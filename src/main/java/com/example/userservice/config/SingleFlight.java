@@ -0,0 +1,149 @@
+package com.example.userservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 조회가 동시에 여러 번 들어오면 DB 조회는 한 번만 실행하고 결과를 함께 씁니다.
+ * (같은 토큰으로 병렬 요청하는 클라이언트, 다이제스트 완료 알림 몰림)
+ *
+ * 먼저 들어온 요청(leader)이 조회하는 동안 뒤따른 요청은 최대 max-wait-ms 까지 기다리고,
+ * 그 안에 끝나지 않으면 직접 조회합니다. 조회가 끝나면 키를 바로 지우므로 결과를 캐시하지는 않습니다.
+ * 공유되는 결과는 여러 스레드가 읽으므로 프로젝션·Optional 처럼 변경되지 않는 값만 사용합니다.
+ *
+ * 쓰기 전에 시작된 조회 결과를 쓰기 후 요청이 받지 않도록, 쓰기가 끝나면 recordWrite 로 키를 기록합니다.
+ * 기록된 키는 recent-write-window-ms 동안 합치지 않고 각자 조회하며, 그때 진행 중인 조회에도 더는 합류하지 않습니다.
+ * (복제본 라우팅 여부와 관계없이 동작, 라우팅 중 primary 로 고정된 조회도 합치지 않음)
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long maxWaitMs;
+    private final long recentWriteWindowMs;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timedOut;
+    private final Counter bypassed;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${app.single-flight.enabled:true}") boolean enabled,
+                        @Value("${app.single-flight.max-wait-ms:1000}") long maxWaitMs,
+                        @Value("${app.single-flight.recent-write-window-ms:5000}") long recentWriteWindowMs) {
+        this.enabled = enabled;
+        this.maxWaitMs = maxWaitMs;
+        this.recentWriteWindowMs = recentWriteWindowMs;
+        this.leaders = outcomeCounter(meterRegistry, "leader");
+        this.coalesced = outcomeCounter(meterRegistry, "coalesced");
+        this.timedOut = outcomeCounter(meterRegistry, "timeout");
+        this.bypassed = outcomeCounter(meterRegistry, "bypassed");
+        meterRegistry.gaugeMapSize("single.flight.in.flight", Tags.empty(), inFlight);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("single.flight.calls")
+                .description("단일 실행 조회 결과 (leader: 직접 조회, coalesced: 결과 공유, timeout: 대기 초과 후 직접 조회, "
+                        + "bypassed: 최근 쓰기로 합치지 않음)")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * name 은 조회 종류(예: "profile"), key 는 조회 대상(userId, email)입니다.
+     * leader 의 예외는 함께 기다린 요청에도 그대로 전달됩니다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, String key, Supplier<T> query) {
+        if (!enabled || ReadYourWritesTracker.isPrimaryPinned()) {
+            return query.get();
+        }
+        if (isRecentlyWritten(key)) {
+            bypassed.increment();
+            return query.get();
+        }
+        String flightKey = flightKey(name, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        if (existing != null) {
+            return (T) await(existing, query);
+        }
+
+        leaders.increment();
+        try {
+            T result = query.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * 쓰기 완료 기록 (userId, email 등 조회에 쓰이는 키). 쓰기 트랜잭션이 커밋된 뒤 호출합니다.
+     * 진행 중인 같은 키의 조회는 떼어 내므로, 이후 요청은 쓰기 이후에 시작한 조회 결과만 받습니다.
+     */
+    public void recordWrite(String... keys) {
+        if (!enabled) return;
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            if (key == null) continue;
+            recentWrites.put(key, now);
+            String suffix = ':' + key;
+            inFlight.keySet().removeIf(flightKey -> flightKey.endsWith(suffix));
+        }
+    }
+
+    private boolean isRecentlyWritten(String key) {
+        Long writtenAt = recentWrites.get(key);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < recentWriteWindowMs;
+    }
+
+    // 만료된 쓰기 기록 정리
+    @Scheduled(fixedDelayString = "${app.single-flight.recent-write-window-ms:5000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - recentWriteWindowMs;
+        recentWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private static String flightKey(String name, String key) {
+        return name + ':' + key;
+    }
+
+    private Object await(CompletableFuture<Object> leader, Supplier<?> query) {
+        try {
+            Object result = leader.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            coalesced.increment();
+            return result;
+        } catch (TimeoutException e) {
+            // leader 가 늦으면 더 기다리지 않고 직접 조회
+            timedOut.increment();
+            return query.get();
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("조회 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.userservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 트래픽을 받기 시작한 뒤 처음 일정 시간(기본 60초) 동안의 HTTP 요청 지연을 따로 기록합니다.
+ * http.server.requests.first-minute{warmup=completed|skipped} 로 워밍업 유무에 따른 배포 직후 p99 를 비교합니다.
+ * (ObservationRegistry 구성 시점에 만들어지므로 다른 애플리케이션 빈에 의존하지 않고, WarmupRunner 가 완료를 알려줌)
+ */
+@Component
+public class StartupLatencyRecorder implements ObservationHandler<ServerRequestObservationContext> {
+
+    private static final String START_KEY = StartupLatencyRecorder.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final long windowNanos;
+
+    private volatile long readyAtNanos;
+    private volatile boolean ready;
+    private volatile boolean warmedUp;
+
+    public StartupLatencyRecorder(MeterRegistry meterRegistry,
+                                  @Value("${app.warmup.latency-window-seconds:60}") long windowSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+    }
+
+    public void markWarmedUp() {
+        warmedUp = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyAtNanos = System.nanoTime();
+        ready = true;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        if (!ready) return;
+        long now = System.nanoTime();
+        if (now - readyAtNanos < windowNanos) {
+            context.put(START_KEY, now);
+        }
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        Long start = context.get(START_KEY);
+        if (start == null) return;
+
+        String uri = context.getPathPattern() != null ? context.getPathPattern() : "UNKNOWN";
+        Timer.builder("http.server.requests.first-minute")
+                .description("HTTP server request latency during the first minute after readiness")
+                .tag("warmup", warmedUp ? "completed" : "skipped")
+                .tag("method", context.getCarrier().getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.userservice.config;
+
+import com.example.userservice.service.OciStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Object Storage 버킷 접근 확인 (HEAD 요청).
+ * 업로드만 영향을 받으므로 readiness 에는 넣지 않습니다.
+ * 기동 시 클라이언트를 만들지 않도록(OciStorageConfig 의 @Lazy) 첫 업로드 전까지는 확인하지 않고 UNKNOWN 으로 둡니다.
+ */
+@Component("storageHealthIndicator")
+public class StorageHealthIndicator extends CachedHealthIndicator {
+
+    private final OciStorageService storageService;
+    private final long intervalMs;
+
+    public StorageHealthIndicator(OciStorageService storageService,
+                                  @Value("${app.health.storage.interval-ms:60000}") long intervalMs) {
+        this.storageService = storageService;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    protected long intervalMs() {
+        return intervalMs;
+    }
+
+    @Override
+    protected Health check() {
+        if (!storageService.isClientCreated()) {
+            return Health.unknown().withDetail("reason", "storage client not created yet (first upload)").build();
+        }
+        storageService.checkBucket();
+        return Health.up().build();
+    }
+}
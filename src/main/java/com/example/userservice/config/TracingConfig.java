@@ -0,0 +1,26 @@
+package com.example.userservice.config;
+
+import net.ttddyy.observation.boot.autoconfigure.DataSourceNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * 비동기 실행기로 넘어간 작업에도 현재 trace 가 이어지도록 컨텍스트를 전달합니다.
+ * (Spring Boot 가 자동 구성하는 applicationTaskExecutor 에 적용됨)
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    // JDBC span 의 데이터소스 이름은 빈 이름 사용
+    // (기본 구현은 카탈로그명을 읽으려고 기동 중에 커넥션을 열어 DB 가 없으면 connection-timeout 만큼 대기)
+    @Bean
+    public DataSourceNameResolver dataSourceNameResolver() {
+        return (beanName, dataSource) -> beanName;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.UuidBinaryConverter;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 이메일 → 샤드 디렉터리 (0번 샤드의 user_shard_directory).
+ * 회원은 userId 해시로 샤드가 정해지므로 이메일 조회(로그인, 가입 중복 확인)가 한 샤드만 보도록 위치를 기록합니다.
+ * JPA 트랜잭션에 섞이지 않도록 라우팅 DataSource 가 아닌 샤드 풀에 직접 연결합니다.
+ */
+public class UserShardDirectory {
+
+    // 회원 행 없이 이 시간이 지난 선점은 가입 실패로 보고 교체 (가입 트랜잭션보다 충분히 길게)
+    private static final Duration STALE_CLAIM_AFTER = Duration.ofMinutes(5);
+
+    private final JdbcTemplate home;
+    private final List<JdbcTemplate> shards;
+
+    public UserShardDirectory(List<DataSource> shardDataSources) {
+        this.shards = shardDataSources.stream().map(JdbcTemplate::new).toList();
+        this.home = shards.get(ShardRoutingDataSource.HOME_SHARD);
+    }
+
+    public Optional<Integer> findShardByEmail(String email) {
+        return home.queryForList("SELECT shard FROM user_shard_directory WHERE email_hash = ?",
+                Integer.class, emailHash(email)).stream().findFirst();
+    }
+
+    public Optional<Integer> findShardByUserId(String userId) {
+        return home.queryForList("SELECT shard FROM user_shard_directory WHERE user_id = ?",
+                Integer.class, UuidBinaryConverter.toBytes(userId)).stream().findFirst();
+    }
+
+    /**
+     * 신규 가입 회원의 이메일을 선점합니다. 다른 회원이 쓰고 있으면 false.
+     * 기존 항목이 가리키는 회원이 그 샤드에 없고 선점한 지 STALE_CLAIM_AFTER 가 지났으면(가입 도중 실패)
+     * 새 회원으로 바꿉니다. 그보다 최근 선점은 아직 가입 중일 수 있으므로 사용 중으로 봅니다.
+     */
+    public boolean claim(String userId, String email, int shard) {
+        byte[] hash = emailHash(email);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            home.update("INSERT INTO user_shard_directory (email_hash, user_id, shard, claimed_at) VALUES (?, ?, ?, ?)",
+                    hash, UuidBinaryConverter.toBytes(userId), shard, Timestamp.valueOf(now));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            List<Map<String, Object>> existing = home.queryForList(
+                    "SELECT user_id, shard FROM user_shard_directory WHERE email_hash = ?", hash);
+            if (existing.isEmpty()) {
+                return false;   // 그 사이 지워짐, 호출한 쪽에서 다시 가입 시도
+            }
+            byte[] ownerId = (byte[]) existing.get(0).get("user_id");
+            int ownerShard = ((Number) existing.get(0).get("shard")).intValue();
+            if (Arrays.equals(ownerId, UuidBinaryConverter.toBytes(userId))) {
+                return true;
+            }
+            if (userExists(ownerShard, ownerId)) {
+                return false;
+            }
+            // 소유자가 없는 오래된 선점: 조회한 소유자 그대로일 때만 교체 (동시 가입은 한쪽만 성공)
+            return home.update("UPDATE user_shard_directory SET user_id = ?, shard = ?, claimed_at = ? "
+                            + "WHERE email_hash = ? AND user_id = ? AND claimed_at < ?",
+                    UuidBinaryConverter.toBytes(userId), shard, Timestamp.valueOf(now), hash, ownerId,
+                    Timestamp.valueOf(now.minus(STALE_CLAIM_AFTER))) == 1;
+        }
+    }
+
+    /**
+     * 재배치·백필: 회원의 현재 위치를 기록합니다 (같은 회원의 이전 이메일 항목은 제거).
+     */
+    public void put(String userId, String email, int shard) {
+        byte[] hash = emailHash(email);
+        byte[] id = UuidBinaryConverter.toBytes(userId);
+        home.update("DELETE FROM user_shard_directory WHERE user_id = ? AND email_hash <> ?", id, hash);
+        if (home.update("UPDATE user_shard_directory SET user_id = ?, shard = ? WHERE email_hash = ?",
+                id, shard, hash) == 0) {
+            home.update("INSERT INTO user_shard_directory (email_hash, user_id, shard) VALUES (?, ?, ?)",
+                    hash, id, shard);
+        }
+    }
+
+    public void remove(String userId) {
+        home.update("DELETE FROM user_shard_directory WHERE user_id = ?", (Object) UuidBinaryConverter.toBytes(userId));
+    }
+
+    /**
+     * 정리된 회원의 항목 제거: 샤드에 행이 없으면(삭제) 항목을 지우고,
+     * 행은 있지만 이메일이 바뀌었으면(익명화) 이전 이메일 항목을 지웁니다. 이메일이 그대로인 회원은 유지합니다.
+     */
+    public void releasePurged(int shard, List<String> userIds) {
+        Map<String, String> emails = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        shards.get(shard).query("SELECT user_id, email FROM users WHERE user_id IN (" + placeholders + ")",
+                rs -> {
+                    emails.put(UuidBinaryConverter.fromBytes(rs.getBytes("user_id")), rs.getString("email"));
+                },
+                userIds.stream().map(UuidBinaryConverter::toBytes).toArray());
+
+        List<Object[]> removed = new ArrayList<>();
+        List<Object[]> renamed = new ArrayList<>();
+        for (String userId : userIds) {
+            String email = emails.get(userId);
+            if (email == null) {
+                removed.add(new Object[]{UuidBinaryConverter.toBytes(userId)});
+            } else {
+                renamed.add(new Object[]{UuidBinaryConverter.toBytes(userId), emailHash(email)});
+            }
+        }
+        if (!removed.isEmpty()) {
+            home.batchUpdate("DELETE FROM user_shard_directory WHERE user_id = ?", removed);
+        }
+        if (!renamed.isEmpty()) {
+            home.batchUpdate("DELETE FROM user_shard_directory WHERE user_id = ? AND email_hash <> ?", renamed);
+        }
+    }
+
+    private boolean userExists(int shard, byte[] userId) {
+        if (shard < 0 || shard >= shards.size()) return false;
+        Integer count = shards.get(shard).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE user_id = ?", Integer.class, (Object) userId);
+        return count != null && count > 0;
+    }
+
+    // MySQL 기본 collation 처럼 대소문자를 구분하지 않도록 소문자로 해시
+    static byte[] emailHash(String email) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(email.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
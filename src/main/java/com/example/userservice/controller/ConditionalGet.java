@@ -0,0 +1,71 @@
+package com.example.userservice.controller;
+
+import com.example.userservice.jpa.UserListVersionView;
+import com.example.userservice.jpa.UserVersionView;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조회 API 의 ETag/Last-Modified 생성과 If-None-Match/If-Modified-Since 판단, 변경 API 의 If-Match 해석.
+ * version 으로 304 를 결정해, 폴링하는 프론트에 본문 직렬화·전송 비용을 쓰지 않습니다.
+ */
+public final class ConditionalGet {
+
+    // 브라우저가 저장하되 매번 재검증하도록 (Spring Security 기본값 no-store 대신)
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    // 회원별 version 은 모든 변경 쿼리에서 1씩 증가하므로 userId + version 으로 강한 ETag 생성
+    public static String profileETag(String userId, UserVersionView version) {
+        return "\"" + userId + "-" + version.getVersion() + "\"";
+    }
+
+    // 회원 수·version 합계·마지막 수정 시각 (탈퇴 후 새 가입처럼 수와 합계가 같아지는 경우는 수정 시각으로 구분)
+    public static String listETag(UserListVersionView version) {
+        return "\"users-" + version.getCount() + "-" + version.getVersionSum()
+                + "-" + toEpochMillis(version.getLastUpdatedAt()) + "\"";
+    }
+
+    /**
+     * 변경 요청의 If-Match 에서 기대 version 을 꺼냅니다 (헤더가 없거나 * 이면 null = 조건 없음).
+     * 이 회원의 강한 프로필 ETag 가 아니면 일치할 수 없으므로 바로 412 입니다.
+     */
+    public static Long expectedVersion(String userId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) return null;
+        String etag = ifMatch.trim();
+        String prefix = "\"" + userId + "-";
+        if (etag.startsWith(prefix) && etag.endsWith("\"") && etag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // 아래에서 412
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "프로필이 다른 요청으로 변경되었습니다.");
+    }
+
+    /**
+     * 요청의 조건 헤더와 비교해 변경이 없으면 304 를 설정하고 true 를 반환합니다 (호출자는 null 반환).
+     * 변경이 있으면 ETag·Last-Modified·Cache-Control 헤더만 설정하고 false 를 반환합니다.
+     */
+    public static boolean notModified(WebRequest request, String etag, LocalDateTime lastModified) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag, toEpochMillis(lastModified));
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        // 값이 없으면 Last-Modified 를 쓰지 않음 (checkNotModified 는 음수를 무시)
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
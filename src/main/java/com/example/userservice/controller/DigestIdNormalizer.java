@@ -0,0 +1,41 @@
+package com.example.userservice.controller;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 다이제스트 서비스가 보내는 회원 id 를 UUID 로 변환합니다.
+ * "0x" 접두사가 있거나 하이픈 없는 32자리 헥스 문자열도 받아줍니다.
+ */
+public final class DigestIdNormalizer {
+
+    private static final Pattern HEX_32 = Pattern.compile("(?i)^[0-9A-F]{32}$");
+
+    private DigestIdNormalizer() {
+    }
+
+    public static UUID normalize(String rawId) {
+        // 1) "0x" 접두사 혹은 32자리 헥스 문자열 패턴 검사
+        String hex = rawId;
+        if (hex.startsWith("0x") || hex.startsWith("0X")) {
+            // 접두사 제거
+            hex = hex.substring(2);
+        }
+        // 32자리 헥스 패턴(0-9,a-f)인지 확인
+        if (HEX_32.matcher(hex).matches()) {
+            // 소문자로 통일 후 UUID 포맷팅
+            hex = hex.toLowerCase(Locale.ROOT);
+            String formatted = String.format("%s-%s-%s-%s-%s",
+                    hex.substring(0, 8),
+                    hex.substring(8, 12),
+                    hex.substring(12, 16),
+                    hex.substring(16, 20),
+                    hex.substring(20, 32)
+            );
+            return UUID.fromString(formatted);
+        }
+        // 그 외에는 일반 UUID 문자열이라고 보고 바로 파싱
+        return UUID.fromString(rawId);
+    }
+}
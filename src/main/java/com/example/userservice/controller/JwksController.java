@@ -0,0 +1,37 @@
+package com.example.userservice.controller;
+
+import com.example.userservice.security.JwtKeyProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// 로그인 토큰 검증용 공개키 (게이트웨이·다른 서비스가 캐시해서 사용)
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyProvider keyProvider;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(WebRequest request) {
+        CacheControl cacheControl = CacheControl
+                .maxAge(keyProvider.getJwksMaxAgeSeconds(), TimeUnit.SECONDS)
+                .cachePublic();
+
+        // 키 목록이 그대로면 304 (본문 없이)
+        if (request.checkNotModified(keyProvider.getJwksEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(keyProvider.getJwksEtag())
+                .body(keyProvider.getJwksJson());
+    }
+}
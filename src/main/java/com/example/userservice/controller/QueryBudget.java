@@ -0,0 +1,24 @@
+package com.example.userservice.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔드포인트 요청 하나가 실행할 수 있는 SQL 수와 읽을 수 있는 행 수.
+ * app.query-budget.mode 가 report 면 실제 값과 함께 보고만 하고, enforce 면 초과를 위반으로 기록합니다 (QueryBudgetReport).
+ * 보안 필터(로그인, 토큰 확인)에서 실행한 쿼리도 포함하며, 캐시 적중으로 덜 실행되는 것은 상관없습니다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    // DB 왕복 수 (배치 실행은 한 번)
+    int queries();
+
+    // ResultSet 에서 읽은 행 수, -1 이면 제한 없음 (목록)
+    int rows() default -1;
+}
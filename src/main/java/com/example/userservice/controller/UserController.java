@@ -3,11 +3,16 @@ package com.example.userservice.controller;
 import com.example.userservice.exception.CodeExpiredException;
 import com.example.userservice.exception.CodeMismatchException;
 import com.example.userservice.exception.CodeNotFoundException;
+import com.example.userservice.jpa.UserListVersionView;
+import com.example.userservice.jpa.UserProfileView;
+import com.example.userservice.security.TokenRevocationStore;
+import com.example.userservice.service.ResponseUserMapper;
 import com.example.userservice.service.UserService;
 import com.example.userservice.vo.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +21,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -32,38 +37,16 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final TokenRevocationStore revocations;
 
     // 다이제스트 완료 엔드포인트
     @PostMapping("/digest/completed")
+    @QueryBudget(queries = 1, rows = 1)
     public ResponseEntity<Void> digestCompleted(
             @Valid @RequestBody DigestNotificationRequest req) {
 
-        String rawId = req.getId().toString();
-        UUID userId;
-
-        // 1) "0x" 접두사 혹은 32자리 헥스 문자열 패턴 검사
-        String hex = rawId;
-        if (hex.startsWith("0x") || hex.startsWith("0X")) {
-            // 접두사 제거
-            hex = hex.substring(2);
-        }
-        // 32자리 헥스 패턴(0-9,a-f)인지 확인
-        if (hex.matches("(?i)^[0-9A-F]{32}$")) {
-            // 소문자로 통일 후 UUID 포맷팅
-            hex = hex.toLowerCase(Locale.ROOT);
-            String formatted = String.format("%s-%s-%s-%s-%s",
-                    hex.substring(0, 8),
-                    hex.substring(8, 12),
-                    hex.substring(12, 16),
-                    hex.substring(16, 20),
-                    hex.substring(20, 32)
-            );
-            userId = UUID.fromString(formatted);
-
-        } else {
-            // 그 외에는 일반 UUID 문자열이라고 보고 바로 파싱
-            userId = UUID.fromString(rawId);
-        }
+        // 1) 회원 id 정규화 (헥스 문자열도 허용)
+        UUID userId = DigestIdNormalizer.normalize(req.getId().toString());
 
         // 2) 서비스 호출
         userService.notifyDigestCompleted(
@@ -78,14 +61,19 @@ public class UserController {
 
     // 프로필 이미지 업로드
     @PostMapping(value = "/{userId}/profile-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @QueryBudget(queries = 3, rows = 1)   // 수정, 변경 결과 조회, outbox (업로드 전 회원 확인 없음)
     public ResponseUser uploadProfileImage(
-            @PathVariable String userId,
-            @RequestPart("file") MultipartFile file) {
-        return userService.updateProfileImage(userId, file);
+            @PathVariable UUID userId,   // UUID 가 아니면 서비스·DB 변환까지 가지 않고 400
+            @RequestPart("file") MultipartFile file,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // 소문자 표준 형식으로 통일 (샤드 키·BINARY(16) 변환과 같은 값)
+        String id = userId.toString();
+        return userService.updateProfileImage(id, file, ConditionalGet.expectedVersion(id, ifMatch));
     }
 
     // 이메일 인증 코드(JWT) 발송
     @PostMapping("/email/verify")
+    @QueryBudget(queries = 1, rows = 1)
     public ResponseEntity<String> sendEmailVerify(
             @Valid @RequestBody EmailVerificationRequest req) {
         userService.sendSignupVerification(req.getEmail());
@@ -94,6 +82,7 @@ public class UserController {
 
     // 이메일 인증 코드(JWT) 검증 (GET 방식 - url에 users/email/confirm?token={token})
     @GetMapping("/email/confirm")
+    @QueryBudget(queries = 0)
     public ResponseEntity<String> confirmEmail(@RequestParam("token") String token) {
         try {
             userService.verifySignupToken(token);
@@ -122,17 +111,16 @@ public class UserController {
 
     // 회원가입
     @PostMapping("/signup")
+    @QueryBudget(queries = 3, rows = 1)   // 이메일 조회, 저장, outbox
     public ResponseEntity<ResponseUser> signup(@Valid @RequestBody RequestUser req) {
-        // 이메일 인증 토큰 검증
-        userService.verifySignupToken(req.getToken());
-
-        // signup logic (이메일 중복 등 내부에서 처리)
+        // signup logic (이메일 인증 토큰 검증, 이메일 중복 등 내부에서 처리)
         ResponseUser resp = userService.signup(req);
         return ResponseEntity.status(HttpStatus.CREATED).body(resp);
     }
 
     // 로그인
     @PostMapping("/login")
+    @QueryBudget(queries = 1, rows = 1)   // 로그인 필터: 인증 조회 (userId 도 함께, 토큰 발급 때 다시 조회하지 않음)
     public ResponseEntity<ResponseUser> login(@Valid @RequestBody RequestLogin req) {
         ResponseUser resp = userService.login(req.getEmail(), req.getPassword());
         return ResponseEntity.ok(resp);
@@ -140,6 +128,7 @@ public class UserController {
 
     // 비밀번호 재설정 이메일 요청
     @PostMapping("/password-reset/request")
+    @QueryBudget(queries = 1, rows = 1)
     public ResponseEntity<Void> requestPasswordReset(@Valid @RequestBody PasswordResetRequest req) {
         userService.sendPasswordReset(req);
         return ResponseEntity.ok().build();
@@ -147,6 +136,7 @@ public class UserController {
 
     // 비밀번호 재설정 코드 검증 및 비밀번호 변경
     @PostMapping("/password-reset/confirm")
+    @QueryBudget(queries = 3, rows = 1)   // version 확인, 비밀번호 변경, outbox
     public ResponseEntity<Void> confirmPasswordReset(@Valid @RequestBody PasswordResetConfirmRequest req) {
         userService.confirmPasswordReset(req);
         return ResponseEntity.ok().build();
@@ -154,40 +144,65 @@ public class UserController {
 
     // 내 프로필 조회
     @GetMapping("/profile")
-    public ResponseEntity<ResponseUser> getProfile(Authentication auth) {
+    @QueryBudget(queries = 1, rows = 1)   // 프로필 (version·수정 시각 포함, 304 도 같은 조회)
+    public ResponseEntity<ResponseUser> getProfile(Authentication auth, WebRequest request) {
         ResponseUser principal = (ResponseUser) auth.getPrincipal();
         String userId = principal.getUserId();
-        return ResponseEntity.ok(userService.getProfile(userId));
+        // 프로필 조회 한 번으로 ETag 를 만들고, 변경이 없으면 직렬화 없이 304
+        UserProfileView profile = userService.getProfileView(userId);
+        if (ConditionalGet.notModified(request,
+                ConditionalGet.profileETag(userId, profile), profile.getUpdatedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok(ResponseUserMapper.toResponse(profile, null));
     }
 
     // 내 프로필 수정
     @PutMapping("/profile")
+    @QueryBudget(queries = 2, rows = 0)   // 수정, outbox (응답은 요청 값으로, 다시 조회하지 않음)
     public ResponseEntity<ResponseUser> updateProfile(
             Authentication auth,
-            @Valid @RequestBody UpdateProfileRequest req) {
+            @Valid @RequestBody UpdateProfileRequest req,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         ResponseUser principal = (ResponseUser) auth.getPrincipal();
         String userId = principal.getUserId();
-        return ResponseEntity.ok(userService.updateProfile(userId, req));
+        // If-Match 가 있으면 그 ETag 의 version 일 때만 수정 (다르면 412)
+        return ResponseEntity.ok(userService.updateProfile(userId, req,
+                ConditionalGet.expectedVersion(userId, ifMatch)));
     }
 
     // 로그아웃
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    @QueryBudget(queries = 1, rows = 0)
+    public ResponseEntity<Void> logout(@RequestHeader(value = "token", required = false) String token) {
+        // 제시된 토큰은 만료 전이라도 더 이상 사용할 수 없도록 폐기
+        if (token != null) {
+            revocations.revoke(token);
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok().build();
     }
 
     // 회원 탈퇴 (soft delete)
     @DeleteMapping
-    public ResponseEntity<Void> deleteUser(Authentication auth) {
+    @QueryBudget(queries = 3, rows = 0)   // 토큰 폐기, 탈퇴 표시, outbox
+    public ResponseEntity<Void> deleteUser(
+            Authentication auth,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         ResponseUser me = (ResponseUser) auth.getPrincipal();
-        userService.deleteUser(me.getUserId());
+        userService.deleteUser(me.getUserId(), ConditionalGet.expectedVersion(me.getUserId(), ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     // 전체 회원 조회 (관리용)
     @GetMapping
-    public ResponseEntity<Iterable<ResponseUser>> getAllUsers() {
+    @QueryBudget(queries = 2)             // 집계 + 목록 (단일 DB 기준, 샤딩하면 샤드 수만큼 늘어남)
+    public ResponseEntity<Iterable<ResponseUser>> getAllUsers(WebRequest request) {
+        // 목록 전체를 읽기 전에 집계 한 번으로 304 판단
+        UserListVersionView version = userService.getAllUsersVersion();
+        if (ConditionalGet.notModified(request, ConditionalGet.listETag(version), version.getLastUpdatedAt())) {
+            return null;
+        }
         return ResponseEntity.ok(userService.getAllUsers());
     }
 }
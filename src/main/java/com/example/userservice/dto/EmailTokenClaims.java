@@ -0,0 +1,22 @@
+package com.example.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 서명·만료·용도 검증을 마친 이메일 인증 토큰 내용 (요청 안에서 다시 파싱하지 않고 이 값을 넘겨 사용)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailTokenClaims {
+    private String email;
+    private String type;
+    private Instant issuedAt;
+    private Instant expiresAt;
+}
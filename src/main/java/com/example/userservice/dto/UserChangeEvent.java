@@ -0,0 +1,26 @@
+package com.example.userservice.dto;
+
+import com.example.userservice.jpa.UserEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 다른 서비스로 발행하는 회원 변경 이벤트 (변경 값은 담지 않고, 수신 측이 필요하면 다시 조회)
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserChangeEvent {
+    private Long eventId;
+    private String userId;
+    private Long version;
+    private UserEventType type;
+    private List<String> changedFields;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,43 @@
+package com.example.userservice.event;
+
+import com.example.userservice.dto.UserChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이벤트를 JSON Lines 파일에 이어 씀 (로컬 부하 테스트/연동 테스트용)
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.transport", havingValue = "file")
+public class FileUserEventPublisher implements UserEventPublisher {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileUserEventPublisher(ObjectMapper objectMapper,
+                                  @Value("${app.outbox.file.path:user-events.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void publish(List<UserChangeEvent> events) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (UserChangeEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.userservice.event;
+
+import com.example.userservice.dto.UserChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * 배치 단위로 JSON 배열을 구독 엔드포인트에 POST (2xx 가 아니면 예외 -> 재전송)
+ * 연결·응답 대기 시간을 제한한 전용 RestTemplate 을 씁니다 (시간 초과도 예외 -> 재전송).
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.transport", havingValue = "http")
+public class HttpUserEventPublisher implements UserEventPublisher {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String url;
+
+    public HttpUserEventPublisher(ObjectMapper objectMapper,
+                                  @Value("${app.outbox.http.url}") String url,
+                                  @Value("${app.outbox.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+                                  @Value("${app.outbox.http.read-timeout-ms:5000}") int readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.objectMapper = objectMapper;
+        this.url = url;
+    }
+
+    @Override
+    public void publish(List<UserChangeEvent> events) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(url, new HttpEntity<>(objectMapper.writeValueAsString(events), headers), Void.class);
+    }
+}
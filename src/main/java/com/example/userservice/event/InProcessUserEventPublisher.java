@@ -0,0 +1,26 @@
+package com.example.userservice.event;
+
+import com.example.userservice.dto.UserChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 같은 프로세스의 @EventListener(UserChangeEvent)로 전달 (로컬 개발/테스트용, app.outbox.transport=in-process 로 명시)
+ * 리스너가 없으면 이벤트가 그대로 버려지므로 운영 기본값으로 쓰지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.transport", havingValue = "in-process")
+public class InProcessUserEventPublisher implements UserEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.userservice.event;
+
+import com.example.userservice.dto.UserChangeEvent;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트 전송 방식. app.outbox.transport 값으로 구현체를 고릅니다 (none 이면 구현체 없음).
+ * 예외를 던지면 해당 배치는 outbox에 남아 다음 주기에 다시 전송됩니다.
+ */
+public interface UserEventPublisher {
+    void publish(List<UserChangeEvent> events) throws Exception;
+}
@@ -0,0 +1,113 @@
+package com.example.userservice.event;
+
+import com.example.userservice.config.ShardRouter;
+import com.example.userservice.dto.UserChangeEvent;
+import com.example.userservice.jpa.UserOutboxEntity;
+import com.example.userservice.jpa.UserOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * outbox에 쌓인 회원 변경 이벤트를 배치로 발행하고, 발행된 행은 삭제합니다.
+ * 한 파드에서만 실행되므로 이벤트 순서가 유지되며, 실패 시 다음 주기에 다시 보냅니다 (at-least-once).
+ * 샤딩 시 outbox 는 회원과 같은 샤드에 있으므로 샤드마다 차례로 비웁니다 (회원별 순서는 샤드 안에서 유지).
+ * 전송 방식이 없으면(app.outbox.transport=none) 전송하지 않고 행을 남겨 두었다가, 설정 후 순서대로 보냅니다.
+ * 다만 테이블이 끝없이 커지지 않도록 보관 기간(app.outbox.undelivered-retention-hours)이 지난 행은 삭제합니다.
+ */
+@Slf4j
+@Component
+public class UserOutboxRelay {
+
+    private final UserOutboxRepository outboxRepository;
+    private final UserEventPublisher publisher;   // 전송 방식이 없으면 null
+    private final ShardRouter shards;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long undeliveredRetentionHours;
+
+    public UserOutboxRelay(UserOutboxRepository outboxRepository,
+                           ObjectProvider<UserEventPublisher> publisher,
+                           ShardRouter shards,
+                           @Value("${app.outbox.batch-size:100}") int batchSize,
+                           @Value("${app.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+                           @Value("${app.outbox.undelivered-retention-hours:168}") long undeliveredRetentionHours) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher.getIfAvailable();
+        this.shards = shards;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.undeliveredRetentionHours = undeliveredRetentionHours;
+        if (this.publisher == null) {
+            log.warn("No user event transport configured (app.outbox.transport=none); "
+                    + "user_outbox rows are kept undelivered for {} hours, then deleted", undeliveredRetentionHours);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:5000}")
+    @SchedulerLock(name = "userOutboxRelay", lockAtMostFor = "PT1M")
+    public void relay() {
+        if (publisher == null) {
+            for (int shard = 0; shard < shards.shardCount(); shard++) {
+                shards.onShard(shard, this::expireShard);
+            }
+            return;
+        }
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            if (!shards.onShard(shard, this::relayShard)) return;
+        }
+    }
+
+    // 현재 샤드의 outbox 전송, 발행이 실패하면 false (다음 주기에 다시)
+    private boolean relayShard() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<UserOutboxEntity> pending = outboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+            if (pending.isEmpty()) return true;
+
+            try {
+                publisher.publish(pending.stream().map(UserOutboxRelay::toEvent).toList());
+            } catch (Exception ex) {
+                log.warn("User outbox publish failed, will retry [pending={}]: {}", pending.size(), ex.getMessage());
+                return false;
+            }
+            outboxRepository.deletePublished(pending.stream().map(UserOutboxEntity::getId).toList());
+            if (pending.size() < batchSize) return true;
+        }
+        return true;
+    }
+
+    // 현재 샤드에서 보관 기간이 지난 미전송 이벤트 삭제 (한 번에 maxBatchesPerRun 배치까지)
+    private int expireShard() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(undeliveredRetentionHours);
+        int deleted = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Long> expired = outboxRepository.findExpiredIds(cutoff, Limit.of(batchSize));
+            if (expired.isEmpty()) break;
+            deleted += outboxRepository.deletePublished(expired);
+            if (expired.size() < batchSize) break;
+        }
+        if (deleted > 0) {
+            log.info("Deleted undelivered user events past retention [rows={} cutoff={}]", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    private static UserChangeEvent toEvent(UserOutboxEntity row) {
+        return UserChangeEvent.builder()
+                .eventId(row.getId())
+                .userId(row.getUserId())
+                .version(row.getVersion())
+                .type(row.getEventType())
+                .changedFields(Arrays.asList(row.getChangedFields().split(",")))
+                .occurredAt(row.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.userservice.jpa;
+
+/**
+ * 정리 대상 탈퇴 회원 프로젝션 (id 는 키셋·삭제 조건, userId 는 샤드 디렉터리 정리용).
+ */
+public interface PurgeCandidateView {
+    Long getId();
+    String getUserId();
+}
@@ -0,0 +1,44 @@
+package com.example.userservice.jpa;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 토큰 폐기 기록. jti 가 있으면 토큰 한 개, user_id 가 있으면 not_before 이전에 발급된 해당 회원의 모든 토큰.
+ */
+@Entity
+@Table(name = "token_revocations")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class TokenRevocationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(columnDefinition = "BINARY(16)")
+    private String jti;
+
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(columnDefinition = "BINARY(16)")
+    private String userId;
+
+    private LocalDateTime notBefore;
+
+    // 이 시각 이후에는 폐기된 토큰도 만료되므로 기록 불필요
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.jpa;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocationEntity, Long> {
+
+    // 마지막으로 읽은 id 이후의 유효한 폐기 기록
+    List<TokenRevocationEntity> findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+            Long afterId, LocalDateTime now, Limit limit);
+
+    // 늦게 커밋되어 id 순서를 건너뛴 기록 보완용
+    List<TokenRevocationEntity> findByCreatedAtAfter(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocationEntity r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -18,7 +18,9 @@ public class UserEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    // UUID 문자열을 BINARY(16)으로 저장 (db/migration/V1, 기존 DB는 db/scripts/users_user_id_binary.sql)
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, unique = true, columnDefinition = "BINARY(16)")
     private String userId;
 
     @Column(nullable = false, unique = true, length = 255)
@@ -57,6 +59,14 @@ public class UserEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // ActivityTracker 가 JDBC로 직접 갱신 (엔티티에서는 읽기만)
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastActiveAt;
+
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
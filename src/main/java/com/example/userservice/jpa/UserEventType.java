@@ -0,0 +1,7 @@
+package com.example.userservice.jpa;
+
+public enum UserEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
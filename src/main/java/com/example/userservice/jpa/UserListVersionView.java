@@ -0,0 +1,13 @@
+package com.example.userservice.jpa;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전체 회원 목록의 조건부 GET 판단용 집계.
+ * 가입·수정·탈퇴 모두 회원 수나 version 합계 중 하나 이상을 바꾸므로 목록 ETag 로 사용합니다.
+ */
+public interface UserListVersionView {
+    Long getCount();
+    Long getVersionSum();
+    LocalDateTime getLastUpdatedAt();
+}
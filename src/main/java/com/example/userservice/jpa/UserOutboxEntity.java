@@ -0,0 +1,45 @@
+package com.example.userservice.jpa;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 변경 이벤트 outbox 행. 회원 데이터 변경과 같은 트랜잭션에서 저장됩니다.
+ */
+@Entity
+@Table(name = "user_outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Convert(converter = UuidBinaryConverter.class)
+    @Column(nullable = false, columnDefinition = "BINARY(16)")
+    private String userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserEventType eventType;
+
+    // 변경된 필드 이름 (쉼표 구분)
+    @Column(nullable = false, length = 255)
+    private String changedFields;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.userservice.jpa;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEntity, Long> {
+
+    // 발행 대기 이벤트를 기록 순서대로 조회
+    List<UserOutboxEntity> findByOrderByIdAsc(Limit limit);
+
+    // 전송 방식이 없을 때 보관 기간이 지난 이벤트 id (오래된 순, id 순서로 읽다가 멈춤)
+    @Query("select e.id from UserOutboxEntity e where e.createdAt < :cutoff order by e.id")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // 방금 변경한 회원 행의 version 으로 이벤트 기록 (INSERT ... SELECT 한 번, 변경 후 행을 다시 읽지 않음)
+    // 같은 트랜잭션의 UPDATE 가 행을 잠그고 있으므로 읽히는 version 은 그 UPDATE 의 결과
+    @Transactional
+    @Modifying
+    @Query("insert into UserOutboxEntity (userId, version, eventType, changedFields, createdAt) " +
+            "select u.userId, u.version, :eventType, :changedFields, :now from UserEntity u where u.userId = :userId")
+    int appendForUser(@Param("userId") String userId,
+                      @Param("eventType") UserEventType eventType,
+                      @Param("changedFields") String changedFields,
+                      @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from UserOutboxEntity e where e.id in :ids")
+    int deletePublished(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,17 @@
+package com.example.userservice.jpa;
+
+import java.time.LocalDate;
+
+/**
+ * 프로필 조회용 읽기 전용 프로젝션.
+ * 비밀번호 해시는 조회하지 않으며, 영속성 컨텍스트에 엔티티로 올라가지 않습니다.
+ * version·updatedAt 을 함께 읽어 조건부 GET 의 ETag/Last-Modified 를 같은 쿼리로 만듭니다.
+ */
+public interface UserProfileView extends UserVersionView {
+    String getUserId();
+    String getEmail();
+    String getName();
+    LocalDate getBirthDate();
+    Theme getTheme();
+    String getProfileImageUrl();
+}
@@ -1,13 +1,115 @@
 package com.example.userservice.jpa;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
-    UserEntity findByUserId(String userId);
     UserEntity findByEmail(String email);
 
+    // 프로필 조회 전용 (읽기 전용 트랜잭션, flush 없음, 삭제 회원 제외)
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserProfileView> findProfileByUserIdAndDeletedFalse(String userId);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserProfileView> findProfileByEmailAndDeletedFalse(String email);
+
+    // version·updatedAt 만 조회 (본문 없이 존재·버전 확인)
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<UserVersionView> findVersionViewByUserIdAndDeletedFalse(String userId);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select count(u) as count, coalesce(sum(u.version), 0) as versionSum, " +
+            "max(u.updatedAt) as lastUpdatedAt from UserEntity u where u.deleted = false")
+    UserListVersionView findListVersion();
+
+    // 활성 회원 목록 (idx_users_deleted_id (deleted, id) 범위 스캔, 프로젝션이라 엔티티를 올리지 않음)
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<UserProfileView> findAllByDeletedFalseOrderByIdAsc();
+
+    // 단일 UPDATE 변경 (삭제되지 않은 회원만, 반환값 = 변경된 행 수)
+    // expectedVersion 이 있으면 그 version 일 때만 변경 (If-Match), null 이면 version 과 무관하게 변경
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.name = :name, u.birthDate = :birthDate, u.theme = :theme, " +
+            "u.updatedAt = :now, u.version = u.version + 1 " +
+            "where u.userId = :userId and u.deleted = false " +
+            "and (:expectedVersion is null or u.version = :expectedVersion)")
+    int updateProfile(@Param("userId") String userId,
+                      @Param("name") String name,
+                      @Param("birthDate") LocalDate birthDate,
+                      @Param("theme") Theme theme,
+                      @Param("now") LocalDateTime now,
+                      @Param("expectedVersion") Long expectedVersion);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.profileImageUrl = :profileImageUrl, " +
+            "u.updatedAt = :now, u.version = u.version + 1 " +
+            "where u.userId = :userId and u.deleted = false " +
+            "and (:expectedVersion is null or u.version = :expectedVersion)")
+    int updateProfileImageUrl(@Param("userId") String userId,
+                              @Param("profileImageUrl") String profileImageUrl,
+                              @Param("now") LocalDateTime now,
+                              @Param("expectedVersion") Long expectedVersion);
+
+    // 비밀번호 재설정 (확인한 version 일 때만, 변경 이벤트의 version 이 expectedVersion + 1 로 정해지도록)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.encryptedPwd = :encryptedPwd, " +
+            "u.updatedAt = :now, u.version = u.version + 1 " +
+            "where u.userId = :userId and u.deleted = false and u.version = :expectedVersion")
+    int updatePassword(@Param("userId") String userId,
+                       @Param("encryptedPwd") String encryptedPwd,
+                       @Param("now") LocalDateTime now,
+                       @Param("expectedVersion") long expectedVersion);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.deleted = true, u.deletedAt = :now, " +
+            "u.updatedAt = :now, u.version = u.version + 1 " +
+            "where u.userId = :userId and u.deleted = false " +
+            "and (:expectedVersion is null or u.version = :expectedVersion)")
+    int markDeleted(@Param("userId") String userId,
+                    @Param("now") LocalDateTime now,
+                    @Param("expectedVersion") Long expectedVersion);
+
+    // 정리 대상(보존 기간이 지난 탈퇴 회원) id·userId를 키셋 방식으로 조회 (익명화된 행은 비밀번호가 비어 있어 제외)
+    @Query("select u.id as id, u.userId as userId from UserEntity u " +
+            "where u.deleted = true and u.id > :afterId and u.deletedAt < :cutoff " +
+            "and u.encryptedPwd <> '' order by u.id")
+    List<PurgeCandidateView> findPurgeCandidates(@Param("cutoff") LocalDateTime cutoff,
+                                                 @Param("afterId") long afterId,
+                                                 Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from UserEntity u where u.id in :ids and u.deleted = true")
+    int deletePurged(@Param("ids") List<Long> ids);
+
+    // 행은 남기고 개인정보만 제거 (email은 unique 이므로 id 기반 자리표시자로 대체)
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.email = concat('purged-', u.id, '@invalid'), u.name = '', " +
+            "u.encryptedPwd = '', u.profileImageUrl = null, u.updatedAt = :now, u.version = u.version + 1 " +
+            "where u.id in :ids and u.deleted = true")
+    int anonymizePurged(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
 }
@@ -0,0 +1,12 @@
+package com.example.userservice.jpa;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 version·수정 시각 프로젝션 (ETag/Last-Modified 생성, 변경 전 존재 확인).
+ * 프로필 본문 없이 version·updatedAt 두 컬럼만 조회합니다.
+ */
+public interface UserVersionView {
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,42 @@
+package com.example.userservice.jpa;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID 문자열(36자)을 BINARY(16) 컬럼 값으로 변환합니다.
+ * 엔티티와 API에서는 기존처럼 문자열 userId를 쓰고, DB에는 16바이트로만 저장됩니다.
+ */
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : toBytes(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : fromBytes(dbData);
+    }
+
+    // JDBC 직접 쿼리에서도 같은 변환을 쓰도록 공개
+    public static byte[] toBytes(String uuid) {
+        UUID value = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+                .putLong(value.getMostSignificantBits())
+                .putLong(value.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("BINARY(16) UUID 값이 아닙니다: length=" + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
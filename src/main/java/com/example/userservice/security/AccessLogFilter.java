@@ -0,0 +1,46 @@
+package com.example.userservice.security;
+
+import com.example.userservice.service.AccessLogWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청별 접근 로그 (메서드·경로 패턴·상태·처리 시간·IP·traceId).
+ * 기록 여부 판단과 실제 출력은 AccessLogWriter 가 담당하며, 이 필터는 값만 모아 넘깁니다.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter writer;
+
+    public AccessLogFilter(AccessLogWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            // 컨트롤러까지 간 요청은 경로 패턴(/users/{userId}/...), 보안 필터에서 끝난 요청은 실제 경로
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : request.getRequestURI();
+            int status = failed && response.getStatus() < 500 ? 500 : response.getStatus();
+            writer.record(request.getMethod(), route, request.getRequestURI(), status,
+                    System.nanoTime() - start, failed, request.getRemoteAddr(), MDC.get("traceId"));
+        }
+    }
+}
@@ -3,12 +3,10 @@ package com.example.userservice.security;
 import com.example.userservice.dto.UserDto;
 import com.example.userservice.service.UserService;
 import com.example.userservice.vo.RequestLogin;
-import com.example.userservice.vo.ResponseUser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,44 +18,54 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
 public class AuthenticationFilterNew  extends UsernamePasswordAuthenticationFilter {
 
     private final UserService userService;
+    private final JwtKeyProvider keyProvider;
+    private final ObservationRegistry observationRegistry;
     private final Environment env;
 
-    public AuthenticationFilterNew(AuthenticationManager authenticationManager, UserService userService, Environment env) {
+    public AuthenticationFilterNew(AuthenticationManager authenticationManager, UserService userService,
+                                   JwtKeyProvider keyProvider, ObservationRegistry observationRegistry,
+                                   Environment env) {
         super(authenticationManager);
         this.userService = userService;
+        this.keyProvider = keyProvider;
+        this.observationRegistry = observationRegistry;
         this.env = env;
     }
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest req, HttpServletResponse res)
             throws AuthenticationException {
-        try {
+        // 회원 조회 + bcrypt 비교 구간
+        return Observation.createNotStarted("security.login.authenticate", observationRegistry)
+                .contextualName("login authenticate")
+                .observe(() -> {
+                    try {
 
-            RequestLogin creds = new ObjectMapper().readValue(req.getInputStream(), RequestLogin.class);
+                        RequestLogin creds = new ObjectMapper().readValue(req.getInputStream(), RequestLogin.class);
 
-            return getAuthenticationManager().authenticate(
-                    new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getPassword(), new ArrayList<>()));
+                        return getAuthenticationManager().authenticate(
+                                new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getPassword(), new ArrayList<>()));
 
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
     }
 
     @Override
@@ -65,31 +73,29 @@ public class AuthenticationFilterNew  extends UsernamePasswordAuthenticationFilt
                                             HttpServletResponse res,
                                             FilterChain chain,
                                             Authentication auth) {
+        // 토큰 서명 구간
+        Observation.createNotStarted("security.login.issue-token", observationRegistry)
+                .contextualName("login issue token")
+                .observe(() -> issueToken(res, auth));
+    }
 
-        // 인증된 사용자 이메일
-        String email = ((User) auth.getPrincipal()).getUsername();
-
-        // 서비스에서 VO 조회
-        ResponseUser userDetails = userService.getUserDetailsByEmail(email);
-
-        // SecretKey 생성
-        byte[] keyBytes = Decoders.BASE64.decode(env.getProperty("jwt.secret"));
-        SecretKey key = Keys.hmacShaKeyFor(keyBytes);
+    private void issueToken(HttpServletResponse res, Authentication auth) {
+        // 인증 때 조회한 회원 (userId 포함, 다시 조회하지 않음)
+        LoginUser user = (LoginUser) auth.getPrincipal();
 
         Instant now = Instant.now();
 
-        // 커스텀 헤더로 Headers key에 token, value에 토큰값 설정
-        String token = Jwts.builder()
-                .setSubject(userDetails.getUserId())
+        // 커스텀 헤더로 Headers key에 token, value에 토큰값 설정 (활성 키로 서명)
+        String token = keyProvider.sign(Jwts.builder()
+                .setId(UUID.randomUUID().toString())      // jti (로그아웃 시 토큰 단위 폐기용)
+                .setSubject(user.getUserId())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(
                         now.plusMillis(Long.parseLong(env.getProperty("jwt.expiration")))
-                ))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                )));
 
         // 헤더에 토큰·userId 추가
         res.addHeader("token", token);
-        res.addHeader("userId", userDetails.getUserId());
+        res.addHeader("userId", user.getUserId());
     }
 }
\ No newline at end of file
@@ -1,12 +1,11 @@
 package com.example.userservice.security;
 
-import com.example.userservice.service.UserService;
+import com.example.userservice.service.ActivityTracker;
 import com.example.userservice.vo.ResponseUser;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,7 +18,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
@@ -28,13 +26,22 @@ import java.util.List;
 // BasicAuthenticationFilter
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
     private final Environment env;
-    private final UserService userService;
+    private final ActivityTracker activityTracker;
+    private final JwtKeyProvider keyProvider;
+    private final TokenRevocationStore revocations;
+    private final ObservationRegistry observationRegistry;
 
     public JwtAuthorizationFilter(AuthenticationManager authenticationManager,
-                                  UserService userService,
+                                  ActivityTracker activityTracker,
+                                  JwtKeyProvider keyProvider,
+                                  TokenRevocationStore revocations,
+                                  ObservationRegistry observationRegistry,
                                   Environment env) {
         //super(authenticationManager);
-        this.userService = userService;
+        this.activityTracker = activityTracker;
+        this.keyProvider = keyProvider;
+        this.revocations = revocations;
+        this.observationRegistry = observationRegistry;
         this.env = env;
     }
 
@@ -49,34 +56,51 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             chain.doFilter(req, res);
             return;
         }
-        // 2) SecretKey 생성 (application.yml의 jwt.secret 읽어서)
-        byte[] keyBytes = Decoders.BASE64.decode(env.getProperty("jwt.secret"));
-        SecretKey key = Keys.hmacShaKeyFor(keyBytes);
+        Claims claims = verify(token);
+        if (claims == null) {
+            SecurityContextHolder.clearContext();
+            res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
 
-        try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+        String userId = claims.getSubject();
 
-            String userId = claims.getSubject();
+        if (userId != null) {
+            // 컨트롤러는 userId 만 사용 (프로필은 필요한 곳에서 조회)
+            ResponseUser userDetails = ResponseUser.builder().userId(userId).build();
+            UsernamePasswordAuthenticationToken auth =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            Collections.emptyList()        // 권한이 있다면 여기에 설정
+                    );
+            SecurityContextHolder.getContext().setAuthentication(auth);
+            activityTracker.touch(userId);
+        }
+        chain.doFilter(req, res);
+    }
 
-            if (userId != null) {
-                ResponseUser userDetails = userService.getProfile(userId);
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                Collections.emptyList()        // 권한이 있다면 여기에 설정
-                        );
-                SecurityContextHolder.getContext().setAuthentication(auth);
-            }
-            chain.doFilter(req, res);
+    // 토큰 검증 구간만 span 으로 기록 (이후 체인 처리 시간은 포함하지 않음). 무효하면 null
+    private Claims verify(String token) {
+        Observation observation = Observation.start("security.jwt.authorization", observationRegistry)
+                .contextualName("jwt authorization");
+        try (Observation.Scope scope = observation.openScope()) {
+            // 2) 서명·만료 검증 (JWKS 로 내보내는 것과 같은 공개키 사용)
+            Claims claims = keyProvider.parse(token);
 
-        } catch (ExpiredJwtException ex) {
-            SecurityContextHolder.clearContext();
-            res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            // 3) 로그아웃·탈퇴로 폐기된 토큰인지 (메모리 조회, DB 조회 없음)
+            if (revocations.isRevoked(claims)) {
+                observation.lowCardinalityKeyValue("outcome", "revoked");
+                return null;
+            }
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return claims;
+        } catch (JwtException ex) {
+            // 만료·서명 불일치·알 수 없는 kid
+            observation.lowCardinalityKeyValue("outcome", "invalid");
+            return null;
+        } finally {
+            observation.stop();
         }
     }
 }
@@ -0,0 +1,209 @@
+package com.example.userservice.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그인 토큰 서명·검증 키를 관리합니다.
+ * jwt.signing.keys 가 있으면 active-kid 키로 ES256 서명하고 공개키를 JWKS 로 내보내므로,
+ * 다른 서비스는 jwt.secret 없이 /.well-known/jwks.json 만으로 토큰을 검증할 수 있습니다.
+ * 키는 시작할 때 한 번만 읽고, 파서도 한 번 만들어 재사용합니다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JwtSigningProperties.class)
+public class JwtKeyProvider {
+
+    // EmailServiceImpl 이 메일 토큰에 넣는 용도 클레임 (로그인 토큰에는 없음)
+    private static final String EMAIL_TOKEN_TYPE_CLAIM = "type";
+
+    private final SecretKey legacyKey;
+    private final boolean acceptHs256;
+    private final Map<String, ECPublicKey> verificationKeys = new LinkedHashMap<>();
+    private final String activeKid;
+    private final PrivateKey activeKey;
+    private final JwtParser parser;
+    private final MeterRegistry meterRegistry;
+
+    @Getter
+    private final String jwksJson;
+    @Getter
+    private final String jwksEtag;
+    @Getter
+    private final long jwksMaxAgeSeconds;
+
+    public JwtKeyProvider(JwtSigningProperties props,
+                          @Value("${jwt.secret}") String secret,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.legacyKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwksMaxAgeSeconds = props.getJwksMaxAgeSeconds();
+
+        PrivateKey signingKey = null;
+        for (JwtSigningProperties.SigningKey key : props.getKeys()) {
+            verificationKeys.put(key.getKid(), readPublicKey(key));
+            if (key.getKid().equals(props.getActiveKid())) {
+                if (!StringUtils.hasText(key.getPrivateKey())) {
+                    throw new IllegalStateException("Active JWT key has no private key: " + key.getKid());
+                }
+                signingKey = readPrivateKey(key);
+            }
+        }
+        if (StringUtils.hasText(props.getActiveKid()) && signingKey == null) {
+            throw new IllegalStateException("Unknown jwt.signing.active-kid: " + props.getActiveKid());
+        }
+        this.activeKid = props.getActiveKid();
+        this.activeKey = signingKey;
+        // 비대칭 키가 없으면 HS256 이 유일한 방식이므로 항상 허용
+        this.acceptHs256 = signingKey == null || props.isAcceptHs256();
+
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header);
+                    }
+                })
+                .build();
+
+        this.jwksJson = buildJwks(objectMapper);
+        this.jwksEtag = "\"" + DigestUtils.md5DigestAsHex(jwksJson.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        if (activeKey == null) {
+            log.warn("No asymmetric JWT signing key configured; login tokens are signed with HS256");
+        } else {
+            log.info("JWT signing with ES256 [activeKid={}, publishedKeys={}, acceptHs256={}]",
+                    activeKid, verificationKeys.keySet(), acceptHs256);
+        }
+    }
+
+    // 로그인 토큰 서명 (kid 헤더 포함)
+    public String sign(JwtBuilder builder) {
+        if (activeKey == null) {
+            return builder.signWith(legacyKey, Jwts.SIG.HS256).compact();
+        }
+        return builder.header().keyId(activeKid).and()
+                .signWith(activeKey, Jwts.SIG.ES256)
+                .compact();
+    }
+
+    // 로그인 토큰 검증 (서명·만료·용도)
+    public Claims parse(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            // 메일 인증·비밀번호 재설정 토큰도 jwt.secret 으로 HS256 서명되므로 용도(type) 클레임이 있으면 거절
+            if (claims.containsKey(EMAIL_TOKEN_TYPE_CLAIM)) {
+                throw new UnsupportedJwtException("Email tokens are not login tokens");
+            }
+            outcome = "success";
+            return claims;
+        } catch (ExpiredJwtException ex) {
+            outcome = "expired";
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.verify", "type", "login", "outcome", outcome));
+        }
+    }
+
+    private Key verificationKey(JwsHeader header) {
+        if (Jwts.SIG.HS256.getId().equals(header.getAlgorithm())) {
+            if (!acceptHs256) throw new UnsupportedJwtException("HS256 tokens are no longer accepted");
+            return legacyKey;
+        }
+        ECPublicKey key = verificationKeys.get(header.getKeyId());
+        if (key == null) throw new UnsupportedJwtException("Unknown key id: " + header.getKeyId());
+        return key;
+    }
+
+    private String buildJwks(ObjectMapper objectMapper) {
+        List<Map<String, String>> keys = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", coordinate(key.getW().getAffineX()));
+            jwk.put("y", coordinate(key.getW().getAffineY()));
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            keys.add(jwk);
+        });
+        try {
+            return objectMapper.writeValueAsString(Map.of("keys", keys));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to build JWKS", e);
+        }
+    }
+
+    // P-256 좌표는 32바이트 고정 길이 (BigInteger 부호 바이트 제거·앞자리 0 채움)
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static ECPublicKey readPublicKey(JwtSigningProperties.SigningKey key) {
+        try {
+            ECPublicKey publicKey = (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(key.getPublicKey())));
+            if (publicKey.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalStateException("JWT key must be on P-256: " + key.getKid());
+            }
+            return publicKey;
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+            throw new IllegalStateException("Invalid JWT public key: " + key.getKid(), e);
+        }
+    }
+
+    private static PrivateKey readPrivateKey(JwtSigningProperties.SigningKey key) {
+        byte[] der = Base64.getMimeDecoder().decode(key.getPrivateKey());
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT private key: " + key.getKid(), e);
+        } finally {
+            Arrays.fill(der, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.userservice.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로그인 토큰 서명 키 설정 (application.yml: jwt.signing)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+
+    // 새 토큰에 서명할 키의 kid (비어 있으면 jwt.secret 으로 HS256 서명)
+    private String activeKid = "";
+
+    // 전환 기간 동안 기존 HS256 토큰도 받아줄지 여부
+    private boolean acceptHs256 = true;
+
+    // JWKS 응답 캐시 시간
+    private long jwksMaxAgeSeconds = 300;
+
+    // 서명/검증 키 목록 (교체 중에는 이전 키도 public-key 만 남겨 둠)
+    private List<SigningKey> keys = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class SigningKey {
+        private String kid;
+        // EC P-256 개인키 (PKCS#8 DER, Base64). 검증 전용 키는 비워 둠
+        private String privateKey;
+        // EC P-256 공개키 (X.509 DER, Base64)
+        private String publicKey;
+    }
+}
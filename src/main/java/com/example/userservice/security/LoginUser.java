@@ -0,0 +1,23 @@
+package com.example.userservice.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 로그인 인증 결과 (UserDetailsService 가 반환).
+ * 토큰 subject 로 쓸 userId 를 함께 담아 토큰 발급 때 회원을 다시 조회하지 않습니다.
+ */
+@Getter
+public class LoginUser extends User {
+
+    private final String userId;
+
+    public LoginUser(String userId, String email, String password,
+                     Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.userId = userId;
+    }
+}
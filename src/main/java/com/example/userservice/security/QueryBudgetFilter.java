@@ -0,0 +1,37 @@
+package com.example.userservice.security;
+
+import com.example.userservice.config.QueryBudgetReport;
+import com.example.userservice.config.QueryCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청별 SQL 수·행 수를 세어 QueryBudgetReport 에 넘깁니다 (app.query-budget.mode 가 off 가 아닐 때만 등록).
+ * 로그인·토큰 확인 쿼리도 포함되도록 보안 필터보다 앞에 둡니다.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetReport report;
+
+    public QueryBudgetFilter(QueryBudgetReport report) {
+        this.report = report;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop();
+            report.record(request, counter);
+        }
+    }
+}
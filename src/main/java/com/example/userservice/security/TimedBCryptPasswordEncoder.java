@@ -0,0 +1,33 @@
+package com.example.userservice.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 해시 생성·비교 시간을 기록하는 BCryptPasswordEncoder (로그인·가입 지연 중 bcrypt 비중 확인용)
+ */
+public class TimedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+
+    public TimedBCryptPasswordEncoder(MeterRegistry meterRegistry) {
+        this.encodeTimer = Timer.builder("password.encode")
+                .description("BCrypt password hashing")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("password.match")
+                .description("BCrypt password verification")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchTimer.record(() -> super.matches(rawPassword, encodedPassword));
+    }
+}
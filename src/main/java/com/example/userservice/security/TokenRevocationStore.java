@@ -0,0 +1,222 @@
+package com.example.userservice.security;
+
+import com.example.userservice.jpa.TokenRevocationEntity;
+import com.example.userservice.jpa.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 토큰 폐기 목록.
+ * 폐기 기록은 token_revocations 테이블에 저장하고, 각 인스턴스는 새 기록만 주기적으로 읽어 메모리에 반영하므로
+ * 요청마다의 폐기 확인은 메모리 조회 한 번입니다.
+ * 기록은 토큰 최대 수명(jwt.expiration)이 지나면 의미가 없으므로 메모리·테이블 모두 그 뒤에 정리됩니다.
+ * 읽어 오기는 전용 스레드에서 실행합니다. 공용 @Scheduled 스레드가 정리 작업 등에 묶여도
+ * 다른 인스턴스에서 폐기된 토큰이 이 인스턴스에서 계속 통과하지 않도록 하기 위함입니다.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private final TokenRevocationRepository repository;
+    private final JwtKeyProvider keyProvider;
+    private final long maxTokenLifetimeMs;
+    private final int batchSize;
+    private final long lookbackMs;
+    private final long pollIntervalMs;
+    private ScheduledExecutorService poller;
+
+    // jti -> 토큰 만료 시각 (epoch ms)
+    private final Map<UUID, Long> revokedTokens = new ConcurrentHashMap<>();
+    // userId -> 이 시각(epoch ms) 이전에 발급된 토큰은 모두 무효
+    private final Map<String, Long> userNotBefore = new ConcurrentHashMap<>();
+
+    private volatile long lastSeenId = 0L;
+
+    public TokenRevocationStore(TokenRevocationRepository repository,
+                                JwtKeyProvider keyProvider,
+                                @Value("${jwt.expiration}") long maxTokenLifetimeMs,
+                                @Value("${app.token-revocation.batch-size:1000}") int batchSize,
+                                @Value("${app.token-revocation.lookback-ms:60000}") long lookbackMs,
+                                @Value("${app.token-revocation.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.repository = repository;
+        this.keyProvider = keyProvider;
+        this.maxTokenLifetimeMs = maxTokenLifetimeMs;
+        this.batchSize = batchSize;
+        this.lookbackMs = lookbackMs;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    // 첫 실행에서 유효한 기록 전체를 읽고, 이후 poll-interval 마다 새 기록만 읽음
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    // 검증된 토큰이 폐기되었는지 (메모리 조회만)
+    public boolean isRevoked(Claims claims) {
+        UUID jti = parseJti(claims.getId());
+        if (jti != null && revokedTokens.containsKey(jti)) return true;
+
+        Long notBefore = userNotBefore.get(claims.getSubject());
+        Date issuedAt = claims.getIssuedAt();
+        return notBefore != null && (issuedAt == null || issuedAt.getTime() < notBefore);
+    }
+
+    // 로그아웃: 제시된 토큰 한 개 폐기 (이미 무효인 토큰은 무시)
+    public void revoke(String token) {
+        Claims claims;
+        try {
+            claims = keyProvider.parse(token);
+        } catch (JwtException ex) {
+            return;
+        }
+        UUID jti = parseJti(claims.getId());
+        if (jti == null) {
+            // jti 도입 이전 토큰은 만료될 때까지 유지
+            log.debug("Token without jti cannot be revoked individually [userId={}]", claims.getSubject());
+            return;
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        repository.save(TokenRevocationEntity.builder()
+                .jti(jti.toString())
+                .expiresAt(toLocalDateTime(expiresAt))
+                .build());
+        afterCommit(() -> revokedTokens.put(jti, expiresAt));
+    }
+
+    // 탈퇴 등: 지금까지 발급된 해당 회원의 모든 토큰 폐기 (호출하는 쪽 트랜잭션에 참여)
+    public void revokeUser(String userId) {
+        long now = System.currentTimeMillis();
+        repository.save(TokenRevocationEntity.builder()
+                .userId(userId)
+                .notBefore(toLocalDateTime(now))
+                .expiresAt(toLocalDateTime(now + maxTokenLifetimeMs))
+                .build());
+        afterCommit(() -> userNotBefore.merge(userId, now, Math::max));
+    }
+
+    // 예외가 나도 다음 주기에 다시 읽도록 (scheduleWithFixedDelay 는 예외가 나면 이후 실행을 멈춤)
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            log.warn("Token revocation poll failed, retrying in {} ms", pollIntervalMs, ex);
+        }
+    }
+
+    // 다른 인스턴스가 기록한 폐기 목록 반영
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        int loaded = 0;
+        List<TokenRevocationEntity> rows;
+        do {
+            rows = repository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(lastSeenId, now, Limit.of(batchSize));
+            rows.forEach(this::apply);
+            if (!rows.isEmpty()) {
+                lastSeenId = rows.get(rows.size() - 1).getId();
+                loaded += rows.size();
+            }
+        } while (rows.size() == batchSize);
+
+        // 자동 증가 id 는 커밋 순서와 다를 수 있으므로 최근 기록은 한 번 더 확인
+        repository.findByCreatedAtAfter(now.minusNanos(lookbackMs * 1_000_000)).forEach(this::apply);
+
+        if (loaded > 0) {
+            log.debug("Loaded token revocations [rows={}, lastSeenId={}]", loaded, lastSeenId);
+        }
+    }
+
+    // 만료된 항목 메모리에서 제거
+    @Scheduled(fixedDelayString = "${app.token-revocation.prune-interval-ms:60000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        userNotBefore.values().removeIf(notBefore -> notBefore + maxTokenLifetimeMs < now);
+    }
+
+    // 만료된 기록 테이블에서 삭제 (한 인스턴스만)
+    @Scheduled(cron = "${app.token-revocation.cleanup-cron:0 15 * * * *}", zone = "Asia/Seoul")
+    @SchedulerLock(name = "tokenRevocationCleanup")
+    public void cleanup() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted expired token revocations [rows={}]", deleted);
+        }
+    }
+
+    private void apply(TokenRevocationEntity row) {
+        long expiresAt = toEpochMillis(row.getExpiresAt());
+        if (row.getJti() != null) {
+            revokedTokens.put(UUID.fromString(row.getJti()), expiresAt);
+        }
+        if (row.getUserId() != null && row.getNotBefore() != null) {
+            userNotBefore.merge(row.getUserId(), toEpochMillis(row.getNotBefore()), Math::max);
+        }
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋된 뒤에만 메모리에 반영 (롤백 시 반영 안 함)
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static UUID parseJti(String jti) {
+        if (jti == null) return null;
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
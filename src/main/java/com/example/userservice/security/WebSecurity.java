@@ -1,15 +1,22 @@
 package com.example.userservice.security;
 
+import com.example.userservice.config.QueryBudgetReport;
+import com.example.userservice.service.AccessLogWriter;
+import com.example.userservice.service.ActivityTracker;
 import com.example.userservice.service.UserService;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.authorization.AuthorizationDecision;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -27,6 +34,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
 
 @Configuration
@@ -37,21 +45,34 @@ public class WebSecurity {
     private final UserService userService;
     private final BCryptPasswordEncoder passwordEncoder;
     private final Environment env;
+    private final ActivityTracker activityTracker;
+    private final JwtKeyProvider keyProvider;
+    private final TokenRevocationStore revocations;
+    private final ObservationRegistry observationRegistry;
+    private final AccessLogWriter accessLogWriter;
+    private final ObjectProvider<QueryBudgetReport> queryBudgetReport;
+
+    // 메트릭 수집을 허용할 대역 (application.yml: app.management.allowed-cidrs)
+    @Value("${app.management.allowed-cidrs}")
+    private List<String> managementAllowedCidrs;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        // 1) AuthenticationManagerBuilder 가져와서 UserDetailsService+PasswordEncoder 설정
-        AuthenticationManagerBuilder authBuilder =
-                http.getSharedObject(AuthenticationManagerBuilder.class);
-
-        authBuilder.userDetailsService(userService).passwordEncoder(passwordEncoder);
-        AuthenticationManager authenticationManager = authBuilder.build();
-
-        // 2) DaoAuthenticationProvider 직접 만들어서 http에 등록
+        // 1) DaoAuthenticationProvider 직접 만들어서 등록
         DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
         daoProvider.setUserDetailsService(userService);    // 유저 조회용 서비스 등록
         daoProvider.setPasswordEncoder(passwordEncoder);   // 비밀번호 암호화 방식 등록
 
+        // 2) 이 Provider 하나만 쓰는 AuthenticationManager
+        //    (상위 전역 매니저로 넘어가지 않으므로 로그인 실패도 회원 조회는 한 번)
+        AuthenticationManager authenticationManager = new ProviderManager(daoProvider);
+
+        AuthorizationManager<RequestAuthorizationContext> managementNetworks = fromNetworks(managementAllowedCidrs);
+
+        // 요청별 쿼리 수 확인 (app.query-budget.mode=report|enforce 일 때만, 로그인 필터보다 앞)
+        queryBudgetReport.ifAvailable(report ->
+                http.addFilterBefore(new QueryBudgetFilter(report), UsernamePasswordAuthenticationFilter.class));
+
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
 
@@ -80,16 +101,24 @@ public class WebSecurity {
                         .requestMatchers(HttpMethod.POST, "/users/password-reset/confirm").permitAll()
                         .requestMatchers("/health-check", "/h2-console/**").permitAll()
                         .requestMatchers("/users/logout").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+
+                        // 액추에이터는 관리 포트에서만 응답 (management.server.port)
+                        // 헬스체크는 공개, 메트릭·로그 레벨 변경은 내부 대역에서만
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").access(managementNetworks)
+                        .requestMatchers("/actuator/loggers", "/actuator/loggers/**").access(managementNetworks)
 
                         // 그 외는 인증 필요 또는 거부
                         .requestMatchers("/users/**").authenticated()
                         .anyRequest().denyAll()
                 )
 
-                // 로그인 필터와 IP 로깅 필터
+                // 로그인 필터와 접근 로그 필터
                 .addFilter(getAuthenticationFilter(authenticationManager))
-                .addFilterBefore(new IpAddressLoggingFilter(), UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(new JwtAuthorizationFilter(authenticationManager, userService, env),
+                .addFilterBefore(new AccessLogFilter(accessLogWriter), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthorizationFilter(authenticationManager, activityTracker, keyProvider, revocations,
+                                observationRegistry, env),
                         UsernamePasswordAuthenticationFilter.class)
 
                 // H2 콘솔 iframe 허용
@@ -98,8 +127,20 @@ public class WebSecurity {
         return http.build();
     }
 
+    // 요청 IP 가 주어진 대역 중 하나에 속하면 허용
+    private static AuthorizationManager<RequestAuthorizationContext> fromNetworks(List<String> cidrs) {
+        List<IpAddressMatcher> matchers = cidrs.stream()
+                .map(cidr -> new IpAddressMatcher(cidr.trim()))
+                .toList();
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) -> {
+            String remoteAddr = context.getRequest().getRemoteAddr();
+            return new AuthorizationDecision(matchers.stream().anyMatch(m -> m.matches(remoteAddr)));
+        };
+    }
+
     private AuthenticationFilterNew getAuthenticationFilter(AuthenticationManager authenticationManager) {
-        AuthenticationFilterNew filter = new AuthenticationFilterNew(authenticationManager, userService, env);
+        AuthenticationFilterNew filter = new AuthenticationFilterNew(authenticationManager, userService, keyProvider,
+                observationRegistry, env);
         filter.setFilterProcessesUrl("/users/login");
         return filter;
     }
@@ -0,0 +1,61 @@
+package com.example.userservice.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 여러 요청 스레드가 넣고 하나의 기록 스레드가 꺼내는 고정 크기 링 버퍼 (락 없음).
+ * 가득 차면 기다리지 않고 offer 가 false 를 반환하므로 요청 스레드는 로그 I/O 때문에 막히지 않습니다.
+ */
+final class AccessLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+
+    // 다음에 쓸 위치 (생산자들이 CAS 로 선점)
+    private final AtomicLong tail = new AtomicLong();
+    // 다음에 읽을 위치 (소비자 스레드만 갱신)
+    private volatile long head;
+
+    AccessLogRingBuffer(int requestedCapacity) {
+        // 인덱스 계산을 비트 마스크로 하기 위해 2의 거듭제곱으로 올림
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long t = tail.get();
+            if (t - head >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) (t & mask), element);
+                return true;
+            }
+        }
+    }
+
+    // 소비자 스레드 전용. 선점만 되고 아직 기록되지 않은 칸을 만나면 null (다음 drain 때 다시 읽음)
+    E poll() {
+        long h = head;
+        int index = (int) (h & mask);
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = h + 1;
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.userservice.service;
+
+import com.example.userservice.config.AccessLogProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 접근 로그를 샘플링해 링 버퍼에 넣고, 별도 스레드가 'access' 로거로 JSON 한 줄씩 기록합니다.
+ * 요청 스레드는 샘플링 판단과 버퍼 삽입만 하고 포맷팅·appender I/O 는 하지 않습니다.
+ *
+ * 5xx·예외·느린 요청은 항상 기록하고, 그 외는 상태 코드 → 경로 → 기본 비율 순으로 샘플링합니다.
+ * 'access' 로거를 DEBUG 로 바꾸면 (/actuator/loggers/access) 재시작 없이 모든 요청을 기록합니다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogWriter {
+
+    private static final Logger ACCESS = LoggerFactory.getLogger("access");
+
+    private final AccessLogProperties props;
+    private final ObjectMapper objectMapper;
+    private final AccessLogRingBuffer<AccessLogEntry> buffer;
+    private final Counter dropped;
+    private final long slowThresholdNanos;
+    private final long drainIntervalNanos;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public AccessLogWriter(AccessLogProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.buffer = new AccessLogRingBuffer<>(props.getBufferSize());
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(props.getSlowThresholdMs());
+        this.drainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(props.getDrainIntervalMs());
+        this.dropped = Counter.builder("access.log.dropped")
+                .description("Access log entries dropped because the ring buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("access.log.buffer.size", buffer, AccessLogRingBuffer::size)
+                .description("Access log entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!props.isEnabled()) return;
+        running = true;
+        drainer = new Thread(this::drainLoop, "access-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (drainer != null) {
+            LockSupport.unpark(drainer);
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * 요청 스레드에서 호출. 기록 대상이면 버퍼에 넣고, 버퍼가 가득 차면 버림
+     */
+    public void record(String method, String route, String path, int status, long durationNanos,
+                       boolean failed, String ip, String traceId) {
+        if (!running || !ACCESS.isInfoEnabled()) return;
+
+        String reason = reason(route, status, durationNanos, failed);
+        if (reason == null) return;
+
+        AccessLogEntry entry = new AccessLogEntry(System.currentTimeMillis(), method, route, path, status,
+                TimeUnit.NANOSECONDS.toMicros(durationNanos), ip, traceId, reason);
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private String reason(String route, int status, long durationNanos, boolean failed) {
+        if (failed || status >= 500) return "error";
+        if (durationNanos >= slowThresholdNanos) return "slow";
+        if (ACCESS.isDebugEnabled()) return "debug";
+
+        double rate = sampleRate(route, status);
+        if (rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            return "sampled";
+        }
+        return null;
+    }
+
+    private double sampleRate(String route, int status) {
+        Map<String, Double> byStatus = props.getStatusSampleRates();
+        if (!byStatus.isEmpty()) {
+            Double rate = byStatus.get(Integer.toString(status));
+            if (rate == null) rate = byStatus.get((status / 100) + "xx");
+            if (rate != null) return rate;
+        }
+        Double rate = props.getRouteSampleRates().get(route);
+        return rate != null ? rate : props.getSampleRate();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(drainIntervalNanos);
+            }
+        }
+        // 종료 시 남은 항목 기록
+        drain();
+    }
+
+    private int drain() {
+        int written = 0;
+        AccessLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            try {
+                ACCESS.info(objectMapper.writeValueAsString(entry));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Failed to write access log entry", e);
+            }
+            written++;
+        }
+        return written;
+    }
+
+    public record AccessLogEntry(long ts, String method, String route, String path, int status,
+                                 long durationUs, String ip, String traceId, String reason) {
+    }
+}
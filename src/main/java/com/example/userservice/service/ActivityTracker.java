@@ -0,0 +1,94 @@
+package com.example.userservice.service;
+
+import com.example.userservice.config.ShardRouter;
+import com.example.userservice.jpa.UuidBinaryConverter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 회원별 마지막 활동 시각을 메모리에 모았다가 주기적으로 한 번에 저장합니다.
+ * 요청마다 DB에 쓰지 않고 회원당 한 칸(마지막 값 우선)만 유지하므로,
+ * 요청 수와 관계없이 회원당 flush 주기마다 최대 한 번만 UPDATE 됩니다.
+ */
+@Slf4j
+@Component
+public class ActivityTracker {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_active_at = ? " +
+            "WHERE user_id = ? AND (last_active_at IS NULL OR last_active_at < ?)";
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+    private final int batchSize;
+
+    public ActivityTracker(JdbcTemplate jdbcTemplate,
+                           ShardRouter shards,
+                           @Value("${app.activity.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        this.batchSize = batchSize;
+    }
+
+    // 인증된 요청마다 호출 (메모리 기록만)
+    public void touch(String userId) {
+        pending.put(userId, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:30000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        // 값이 그대로인 항목만 꺼냄 (그 사이 새로 들어온 touch는 다음 주기로)
+        List<Map.Entry<String, Long>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Long> entry : pending.entrySet()) {
+            String userId = entry.getKey();
+            Long touchedAt = entry.getValue();
+            if (pending.remove(userId, touchedAt)) {
+                batch.add(Map.entry(userId, touchedAt));
+            }
+        }
+
+        // 샤딩 시 회원이 있는 샤드별로 나눠 저장
+        batch.stream()
+                .collect(Collectors.groupingBy(entry -> shards.shardOfUser(entry.getKey())))
+                .forEach((shard, entries) -> shards.onShard(shard, () -> flush(entries)));
+    }
+
+    private Void flush(List<Map.Entry<String, Long>> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, entry) -> {
+                LocalDateTime touchedAt = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(entry.getValue()), ZoneId.systemDefault());
+                ps.setObject(1, touchedAt);
+                ps.setBytes(2, UuidBinaryConverter.toBytes(entry.getKey()));
+                ps.setObject(3, touchedAt);
+            });
+            log.debug("Flushed last-active timestamps [users={}]", batch.size());
+        } catch (RuntimeException ex) {
+            // 실패한 항목은 더 최신 값이 없을 때만 되돌려 다음 주기에 재시도
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Math::max));
+            log.warn("Failed to flush last-active timestamps [users={}]: {}", batch.size(), ex.getMessage());
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
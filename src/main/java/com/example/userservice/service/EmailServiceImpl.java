@@ -1,14 +1,21 @@
 package com.example.userservice.service;
 
+import com.example.userservice.dto.EmailTokenClaims;
 import com.example.userservice.exception.CodeExpiredException;
 import com.example.userservice.exception.CodeMismatchException;
 import com.example.userservice.exception.CodeNotFoundException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,7 +33,6 @@ import javax.crypto.SecretKey;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
@@ -39,6 +45,8 @@ import java.util.concurrent.ThreadLocalRandom;
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${email.from}")
     private String fromEmail;
@@ -52,12 +60,42 @@ public class EmailServiceImpl implements EmailService {
     @Value("${app.client.url}")
     private String clientUrl;
 
-    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // 서명 키와 파서는 한 번만 만들어 재사용 (파서는 스레드 안전)
+    private SecretKey signingKey;
+    private JwtParser parser;
 
-    // 서명용 SecretKey 생성
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    // 토큰 검증 (서명·만료·용도를 한 번에 확인하고 결과를 그대로 반환)
+    private EmailTokenClaims verifyToken(String token, String type,
+                                         String expiredMessage, String invalidMessage) {
+        Claims claims;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+            outcome = "success";
+        } catch (ExpiredJwtException ex) {
+            outcome = "expired";
+            throw new IllegalArgumentException(expiredMessage);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException(invalidMessage);
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.verify", "type", type, "outcome", outcome));
+        }
+        if (!type.equals(claims.get("type", String.class)) || claims.getSubject() == null) {
+            throw new IllegalArgumentException("잘못된 토큰 타입입니다.");
+        }
+        return EmailTokenClaims.builder()
+                .email(claims.getSubject())
+                .type(type)
+                .issuedAt(claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant())
+                .expiresAt(claims.getExpiration() == null ? null : claims.getExpiration().toInstant())
+                .build();
     }
 
     // JWT 토큰 생성 (sub에 email, claim "type"에 용도, iat/exp 포함)
@@ -68,7 +106,7 @@ public class EmailServiceImpl implements EmailService {
                 .claim("type", type)                           // 토큰 용도 구분
                 .setIssuedAt(Date.from(now))                     // 발급 시각
                 .setExpiration(Date.from(now.plusMillis(verificationExpirationMs))) // 만료 시각
-                .signWith(getSigningKey())                       // 서명 수행
+                .signWith(signingKey)                            // 서명 수행
                 .compact();
     }
 
@@ -79,45 +117,14 @@ public class EmailServiceImpl implements EmailService {
         String link = clientUrl + "/signup?verifyToken=" + token;
 
         String subject = "[LumiDiary] 회원가입 이메일 인증";
-        String html = ""
-                + "<div style=\"font-family:Arial,sans-serif;color:#333;padding:20px;max-width:600px;margin:auto;\">"
-                + "  <div style=\"text-align:center;margin-bottom:20px;\">"
-                + "    <h1 style=\"margin:0;font-size:24px;color:#7D3C98;\">LumiDiary</h1>"
-                + "  </div>"
-                + "  <p style=\"font-size:16px;\">안녕하세요!</p>"
-                + "  <p style=\"font-size:16px;\">회원가입 인증을 위해 아래 버튼을 클릭해주세요.</p>"
-                + "  <div style=\"background:#f5f5f5;padding:15px;text-align:center;margin:20px 0;\">"
-                + "    <a href=\"" + link + "\" style=\"display:inline-block;padding:12px 24px;background:#7D3C98;color:#fff;text-decoration:none;border-radius:4px;\">"
-                + "      이메일 인증하기"
-                + "    </a>"
-                + "  </div>"
-                + "  <p style=\"font-size:14px;color:#888;\">이 링크는 15분 후 만료됩니다.</p>"
-                + "  <p style=\"font-size:14px;\">요청하지 않으셨다면 고객지원으로 문의해주세요.</p>"
-                + "  <hr style=\"border:none;border-top:1px solid #eee;margin:30px 0;\"/>"
-                + "  <div style=\"font-size:12px;color:#aaa;text-align:center;\">LumiDiary Inc, Seoul, Korea</div>"
-                + "</div>";
+        String html = EmailTemplates.signupVerification(link);
 
         sendHtmlMail(email, subject, html);
     }
 
     @Override
-    public boolean verifySignupToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            if (!"signup".equals(claims.get("type", String.class))) {
-                throw new IllegalArgumentException("잘못된 토큰 타입입니다.");
-            }
-            return true;
-        } catch (ExpiredJwtException ex) {
-            throw new IllegalArgumentException("인증 링크가 만료되었습니다.");
-        } catch (JwtException ex) {
-            throw new IllegalArgumentException("유효하지 않은 인증 토큰입니다.");
-        }
+    public EmailTokenClaims verifySignupToken(String token) {
+        return verifyToken(token, "signup", "인증 링크가 만료되었습니다.", "유효하지 않은 인증 토큰입니다.");
     }
 
     // 비밀번호 재설정용 인증 “코드” 발송 (type = "reset")
@@ -127,41 +134,16 @@ public class EmailServiceImpl implements EmailService {
         String link = clientUrl + "/password-change?verifyToken=" + token;
 
         String subject = "[LumiDiary] 비밀번호 재설정 이메일";
-        String html = ""
-                + "<div style=\"font-family:Arial,sans-serif;color:#333;padding:20px;max-width:600px;margin:auto;\">"
-                + "  <div style=\"text-align:center;margin-bottom:20px;\">"
-                + "    <h1 style=\"margin:0;font-size:24px;color:#E74C3C;\">LumiDiary</h1>"
-                + "  </div>"
-                + "  <p style=\"font-size:16px;\">비밀번호 재설정을 요청하셨습니다.</p>"
-                + "  <p style=\"font-size:16px;\">아래 버튼을 클릭하여 비밀번호를 변경해주세요.</p>"
-                + "  <div style=\"background:#f5f5f5;padding:15px;text-align:center;margin:20px 0;\">"
-                + "    <a href=\"" + link + "\" style=\"display:inline-block;padding:12px 24px;background:#E74C3C;color:#fff;text-decoration:none;border-radius:4px;\">"
-                + "      비밀번호 재설정하기"
-                + "    </a>"
-                + "  </div>"
-                + "  <p style=\"font-size:14px;color:#888;\">이 링크는 15분 후 만료됩니다.</p>"
-                + "  <p style=\"font-size:14px;\">요청하지 않으셨다면 고객지원으로 문의해주세요.</p>"
-                + "  <hr style=\"border:none;border-top:1px solid #eee;margin:30px 0;\"/>"
-                + "  <div style=\"font-size:12px;color:#aaa;text-align:center;\">LumiDiary Inc, Seoul, Korea</div>"
-                + "</div>";
+        String html = EmailTemplates.passwordReset(link);
 
         sendHtmlMail(email, subject, html);
     }
 
     // 비밀번호 재설정용 코드 검증
     @Override
-    public boolean verifyPasswordResetToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            return "reset".equals(claims.get("type", String.class));
-        } catch (JwtException ex) {
-            return false;
-        }
+    public EmailTokenClaims verifyPasswordResetToken(String token) {
+        return verifyToken(token, "reset",
+                "비밀번호 재설정 토큰이 만료되었습니다.", "유효하지 않은 비밀번호 재설정 토큰입니다.");
     }
 
     @Override
@@ -174,32 +156,19 @@ public class EmailServiceImpl implements EmailService {
         String subject = String.format("[LumiDiary] \"%s\" 다이제스트가 완성되었습니다", title);
 
         // HTML 템플릿 작성
-        String html = ""
-                + "<div style=\"font-family:Arial,sans-serif;color:#333;padding:20px;max-width:600px;margin:auto;\">"
-                + "  <h2 style=\"color:#7D3C98;\">안녕하세요, LumiDiary입니다!</h2>"
-                + "  <p>회원님께서 요청하신 다이제스트가 아래 기간으로 완성되었습니다.</p>"
-                + "  <ul style=\"font-size:14px;\">"
-                + "    <li><strong>제목:</strong> " + title + "</li>"
-                + "    <li><strong>기간:</strong> "
-                +        periodStart.format(DATE_FMT) + " ~ " + periodEnd.format(DATE_FMT)
-                + "    </li>"
-                + "  </ul>"
-                + "  <div style=\"background:#f5f5f5;padding:15px;margin:20px 0;border-radius:4px;\">"
-                + "    <h4 style=\"margin-top:0;\">요약 내용</h4>"
-                + "    <pre style=\"white-space:pre-wrap;font-size:14px;\">"
-                +       summary
-                + "    </pre>"
-                + "  </div>"
-                + "  <p>감사합니다.</p>"
-                + "</div>";
+        String html = EmailTemplates.digestCompletion(title, periodStart, periodEnd, summary);
 
         // 메일 전송
         sendHtmlMail(toEmail, subject, html);
     }
 
     // 공통 HTML 메일 전송
+    // SMTP 전송은 mail.send 로 기록 (타이머 + span)
     private void sendHtmlMail(String to, String subject, String htmlContent) {
-        try {
+        Observation observation = Observation.start("mail.send", observationRegistry)
+                .contextualName("smtp send");
+        String outcome = "success";
+        try (Observation.Scope scope = observation.openScope()) {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
             helper.setFrom(fromEmail, "LumiDiary");
@@ -208,7 +177,11 @@ public class EmailServiceImpl implements EmailService {
             helper.setText(htmlContent, true);
             mailSender.send(message);
         } catch (Exception ex) {
+            outcome = "failure";
+            observation.error(ex);
             log.error("HTML 메일 전송 실패 to={}: {}", to, ex.getMessage(), ex);
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
         }
     }
 
@@ -0,0 +1,79 @@
+package com.example.userservice.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 메일 본문 HTML 템플릿 (EmailServiceImpl 에서 사용, 벤치마크에서 단독 호출 가능)
+ */
+public final class EmailTemplates {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private EmailTemplates() {
+    }
+
+    // 회원가입 이메일 인증
+    public static String signupVerification(String link) {
+        return ""
+                + "<div style=\"font-family:Arial,sans-serif;color:#333;padding:20px;max-width:600px;margin:auto;\">"
+                + "  <div style=\"text-align:center;margin-bottom:20px;\">"
+                + "    <h1 style=\"margin:0;font-size:24px;color:#7D3C98;\">LumiDiary</h1>"
+                + "  </div>"
+                + "  <p style=\"font-size:16px;\">안녕하세요!</p>"
+                + "  <p style=\"font-size:16px;\">회원가입 인증을 위해 아래 버튼을 클릭해주세요.</p>"
+                + "  <div style=\"background:#f5f5f5;padding:15px;text-align:center;margin:20px 0;\">"
+                + "    <a href=\"" + link + "\" style=\"display:inline-block;padding:12px 24px;background:#7D3C98;color:#fff;text-decoration:none;border-radius:4px;\">"
+                + "      이메일 인증하기"
+                + "    </a>"
+                + "  </div>"
+                + "  <p style=\"font-size:14px;color:#888;\">이 링크는 15분 후 만료됩니다.</p>"
+                + "  <p style=\"font-size:14px;\">요청하지 않으셨다면 고객지원으로 문의해주세요.</p>"
+                + "  <hr style=\"border:none;border-top:1px solid #eee;margin:30px 0;\"/>"
+                + "  <div style=\"font-size:12px;color:#aaa;text-align:center;\">LumiDiary Inc, Seoul, Korea</div>"
+                + "</div>";
+    }
+
+    // 비밀번호 재설정
+    public static String passwordReset(String link) {
+        return ""
+                + "<div style=\"font-family:Arial,sans-serif;color:#333;padding:20px;max-width:600px;margin:auto;\">"
+                + "  <div style=\"text-align:center;margin-bottom:20px;\">"
+                + "    <h1 style=\"margin:0;font-size:24px;color:#E74C3C;\">LumiDiary</h1>"
+                + "  </div>"
+                + "  <p style=\"font-size:16px;\">비밀번호 재설정을 요청하셨습니다.</p>"
+                + "  <p style=\"font-size:16px;\">아래 버튼을 클릭하여 비밀번호를 변경해주세요.</p>"
+                + "  <div style=\"background:#f5f5f5;padding:15px;text-align:center;margin:20px 0;\">"
+                + "    <a href=\"" + link + "\" style=\"display:inline-block;padding:12px 24px;background:#E74C3C;color:#fff;text-decoration:none;border-radius:4px;\">"
+                + "      비밀번호 재설정하기"
+                + "    </a>"
+                + "  </div>"
+                + "  <p style=\"font-size:14px;color:#888;\">이 링크는 15분 후 만료됩니다.</p>"
+                + "  <p style=\"font-size:14px;\">요청하지 않으셨다면 고객지원으로 문의해주세요.</p>"
+                + "  <hr style=\"border:none;border-top:1px solid #eee;margin:30px 0;\"/>"
+                + "  <div style=\"font-size:12px;color:#aaa;text-align:center;\">LumiDiary Inc, Seoul, Korea</div>"
+                + "</div>";
+    }
+
+    // 다이제스트 완성 알림
+    public static String digestCompletion(String title, LocalDate periodStart, LocalDate periodEnd, String summary) {
+        return ""
+                + "<div style=\"font-family:Arial,sans-serif;color:#333;padding:20px;max-width:600px;margin:auto;\">"
+                + "  <h2 style=\"color:#7D3C98;\">안녕하세요, LumiDiary입니다!</h2>"
+                + "  <p>회원님께서 요청하신 다이제스트가 아래 기간으로 완성되었습니다.</p>"
+                + "  <ul style=\"font-size:14px;\">"
+                + "    <li><strong>제목:</strong> " + title + "</li>"
+                + "    <li><strong>기간:</strong> "
+                +        periodStart.format(DATE_FMT) + " ~ " + periodEnd.format(DATE_FMT)
+                + "    </li>"
+                + "  </ul>"
+                + "  <div style=\"background:#f5f5f5;padding:15px;margin:20px 0;border-radius:4px;\">"
+                + "    <h4 style=\"margin-top:0;\">요약 내용</h4>"
+                + "    <pre style=\"white-space:pre-wrap;font-size:14px;\">"
+                +       summary
+                + "    </pre>"
+                + "  </div>"
+                + "  <p>감사합니다.</p>"
+                + "</div>";
+    }
+}
@@ -3,11 +3,15 @@ package com.example.userservice.service;
 import com.oracle.bmc.objectstorage.ObjectStorage;
 import com.oracle.bmc.objectstorage.ObjectStorageClient;
 import com.oracle.bmc.objectstorage.requests.GetNamespaceRequest;
+import com.oracle.bmc.objectstorage.requests.HeadBucketRequest;
 import com.oracle.bmc.objectstorage.requests.PutObjectRequest;
 import com.oracle.bmc.objectstorage.responses.PutObjectResponse;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -23,13 +27,16 @@ public class OciStorageService {
     private final String namespace;              // application.yml: oci.objectstorage.namespace
     private final String bucket;                 // application.yml: oci.objectstorage.bucket
     private final String preAuthUrlPrefix;       // application.yml: oci.objectstorage.par-url-prefix
+    private final ObservationRegistry observationRegistry;
+    private volatile boolean clientCreated;      // 첫 업로드로 @Lazy 클라이언트가 만들어졌는지
 
     @Autowired
     public OciStorageService(
-            ObjectStorage objectStorage,
+            @Lazy ObjectStorage objectStorage,     // 첫 호출 때 실제 클라이언트 생성
             @Value("${oci.objectstorage.namespace}") String namespace,
             @Value("${oci.objectstorage.bucket}") String bucket,
-            @Value("${oci.objectstorage.par-url-prefix}") String preAuthUrlPrefix
+            @Value("${oci.objectstorage.par-url-prefix}") String preAuthUrlPrefix,
+            ObservationRegistry observationRegistry
     ) {
         this.objectStorage     = objectStorage;
         this.namespace         = namespace;
@@ -37,6 +44,7 @@ public class OciStorageService {
         this.preAuthUrlPrefix  = preAuthUrlPrefix.endsWith("/")
                 ? preAuthUrlPrefix
                 : preAuthUrlPrefix + "/";  // 접미사 '/' 보장
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -51,7 +59,12 @@ public class OciStorageService {
      * 프로필 이미지 업로드 후, PAR URL 반환
      */
     public String uploadProfileImage(String userId, MultipartFile file) {
-        try (InputStream in = file.getInputStream()) {
+        // OCI putObject 는 storage.upload 로 기록 (타이머 + span)
+        Observation observation = Observation.start("storage.upload", observationRegistry)
+                .contextualName("oci putObject");
+        String outcome = "failure";
+        try (Observation.Scope scope = observation.openScope();
+             InputStream in = file.getInputStream()) {
             // 확장자 추출
             String original = file.getOriginalFilename();
             String extension = (original != null && original.contains("."))
@@ -71,13 +84,35 @@ public class OciStorageService {
                     .contentType(file.getContentType())
                     .putObjectBody(in)
                     .build();
+            clientCreated = true;   // 생성에 실패해도 이후 헬스 체크가 원인을 보여 주도록 호출 전에 표시
             objectStorage.putObject(request);
+            outcome = "success";
 
             // PAR URL 반환 (슬래시 인코딩 없이 경로 그대로)
             return preAuthUrlPrefix + objectName;
 
         } catch (Exception e) {
+            observation.error(e);
             throw new RuntimeException("프로필 이미지 업로드 실패", e);
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
         }
     }
+
+    /**
+     * 첫 업로드 이후인지 (그 전에는 OCI 클라이언트가 아직 만들어지지 않음)
+     */
+    public boolean isClientCreated() {
+        return clientCreated;
+    }
+
+    /**
+     * 버킷 접근 가능 여부 확인 (헬스 체크용 HEAD 요청, 실패하면 SDK 예외)
+     */
+    public void checkBucket() {
+        objectStorage.headBucket(HeadBucketRequest.builder()
+                .namespaceName(namespace)
+                .bucketName(bucket)
+                .build());
+    }
 }
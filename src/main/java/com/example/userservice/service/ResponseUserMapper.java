@@ -0,0 +1,38 @@
+package com.example.userservice.service;
+
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserProfileView;
+import com.example.userservice.vo.ResponseUser;
+
+/**
+ * 엔티티·프로젝션을 응답 VO 로 변환
+ */
+public final class ResponseUserMapper {
+
+    private ResponseUserMapper() {
+    }
+
+    public static ResponseUser toResponse(UserEntity userEntity, String token) {
+        return ResponseUser.builder()
+                .userId(userEntity.getUserId())
+                .email(userEntity.getEmail())
+                .name(userEntity.getName())
+                .birthDate(userEntity.getBirthDate())
+                .profileImageUrl(userEntity.getProfileImageUrl())
+                .theme(userEntity.getTheme().name())
+                .token(token)
+                .build();
+    }
+
+    public static ResponseUser toResponse(UserProfileView profile, String token) {
+        return ResponseUser.builder()
+                .userId(profile.getUserId())
+                .email(profile.getEmail())
+                .name(profile.getName())
+                .birthDate(profile.getBirthDate())
+                .profileImageUrl(profile.getProfileImageUrl())
+                .theme(profile.getTheme().name())
+                .token(token)
+                .build();
+    }
+}
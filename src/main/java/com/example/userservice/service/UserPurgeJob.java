@@ -0,0 +1,168 @@
+package com.example.userservice.service;
+
+import com.example.userservice.config.ShardRouter;
+import com.example.userservice.jpa.PurgeCandidateView;
+import com.example.userservice.jpa.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 보존 기간이 지난 탈퇴 회원을 작은 배치로 나눠 삭제(또는 익명화)합니다.
+ * 배치마다 별도 트랜잭션으로 처리하고 배치 사이에 잠시 쉬어 primary에 긴 트랜잭션을 만들지 않습니다.
+ * 샤딩 중에는 정리한 회원의 샤드 디렉터리 항목도 지워 이메일을 다시 가입할 수 있게 합니다.
+ * 배치 사이 대기가 공용 @Scheduled 스레드(아웃박스 전송·활동 시각 저장·복제본 확인)를 막지 않도록
+ * 전용 스레드에서 cron 으로 실행하고, 한 인스턴스만 실행하도록 shedlock 잠금을 직접 잡습니다.
+ */
+@Slf4j
+@Component
+public class UserPurgeJob {
+
+    private final UserRepository userRepository;
+    private final ShardRouter shards;
+    private final boolean enabled;
+    private final String mode;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMs;
+    private final String cron;
+    private final Duration lockAtMostFor;
+    private final LockingTaskExecutor lockingTaskExecutor;
+    private ThreadPoolTaskScheduler scheduler;
+
+    private final Counter purgedRows;
+    private final Timer runTimer;
+    private final AtomicLong lastRunPurged = new AtomicLong();
+
+    public UserPurgeJob(UserRepository userRepository,
+                        ShardRouter shards,
+                        MeterRegistry meterRegistry,
+                        LockProvider lockProvider,
+                        @Value("${app.purge.enabled:true}") boolean enabled,
+                        @Value("${app.purge.mode:delete}") String mode,
+                        @Value("${app.purge.retention-days:90}") int retentionDays,
+                        @Value("${app.purge.batch-size:500}") int batchSize,
+                        @Value("${app.purge.pause-ms:200}") long pauseMs,
+                        @Value("${app.purge.cron:0 30 4 * * *}") String cron,
+                        @Value("${app.purge.lock-at-most-for:PT1H}") String lockAtMostFor) {
+        if (!"delete".equals(mode) && !"anonymize".equals(mode)) {
+            throw new IllegalArgumentException("app.purge.mode는 delete 또는 anonymize 여야 합니다: " + mode);
+        }
+        this.userRepository = userRepository;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.mode = mode;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.cron = cron;
+        this.lockAtMostFor = Duration.parse(lockAtMostFor);
+        this.lockingTaskExecutor = new DefaultLockingTaskExecutor(lockProvider);
+
+        this.purgedRows = Counter.builder("users.purge.rows")
+                .description("정리된 탈퇴 회원 수")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("users.purge.duration")
+                .description("탈퇴 회원 정리 작업 소요 시간")
+                .register(meterRegistry);
+        meterRegistry.gauge("users.purge.last.run.rows", lastRunPurged);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!enabled) return;
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("user-purge-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        scheduler.schedule(this::purge, new CronTrigger(cron, ZoneId.of("Asia/Seoul")));
+    }
+
+    // 종료 시 배치 사이 대기를 깨워 남은 회원은 다음 실행으로 넘김
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    // 잠금을 잡은 인스턴스만 실행 (다른 인스턴스가 실행 중이면 건너뜀)
+    public void purge() {
+        if (!enabled) return;
+        lockingTaskExecutor.executeWithLock((Runnable) () -> runTimer.record(this::purgeExpired),
+                new LockConfiguration(Instant.now(), "userPurge", lockAtMostFor, Duration.ZERO));
+    }
+
+    private void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+
+        log.info("User purge started [mode={} cutoff={} batchSize={}]", mode, cutoff, batchSize);
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            int current = shard;
+            total += shards.onShard(shard, () -> purgeShard(current, cutoff));
+            if (Thread.currentThread().isInterrupted()) break;
+        }
+        lastRunPurged.set(total);
+        log.info("User purge finished [mode={} purged={}]", mode, total);
+    }
+
+    // 현재 샤드의 만료 회원 정리 (샤드마다 id 가 따로 증가하므로 키셋도 샤드별)
+    private long purgeShard(int shard, LocalDateTime cutoff) {
+        long afterId = 0;
+        long total = 0;
+        int batches = 0;
+        while (true) {
+            List<PurgeCandidateView> candidates = userRepository.findPurgeCandidates(cutoff, afterId, Limit.of(batchSize));
+            if (candidates.isEmpty()) break;
+            List<Long> ids = candidates.stream().map(PurgeCandidateView::getId).toList();
+
+            int affected = "anonymize".equals(mode)
+                    ? userRepository.anonymizePurged(ids, LocalDateTime.now())
+                    : userRepository.deletePurged(ids);
+            shards.releasePurgedUsers(shard, candidates.stream().map(PurgeCandidateView::getUserId).toList());
+            purgedRows.increment(affected);
+            total += affected;
+            batches++;
+            afterId = ids.get(ids.size() - 1);
+            log.debug("User purge batch {} done [affected={} lastId={}]", batches, affected, afterId);
+
+            if (ids.size() < batchSize || !pause()) break;
+        }
+        log.debug("User purge shard done [purged={} batches={}]", total, batches);
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("User purge interrupted, remaining rows will be handled in the next run");
+            return false;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.userservice.service;
 
 import com.example.userservice.dto.UserDto;
 import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserListVersionView;
+import com.example.userservice.jpa.UserProfileView;
 import com.example.userservice.vo.*;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,14 +23,17 @@ public interface UserService extends UserDetailsService {
     void confirmPasswordReset(PasswordResetConfirmRequest req);     // 비밀번호 재설정 확인
 
     ResponseUser getProfile(String userId);                        // 내 프로필 조회
-    ResponseUser updateProfile(String userId, UpdateProfileRequest req);           // 내 프로필 수정
-    ResponseUser updateProfileImage(String userId, MultipartFile file);            // 프로필 이미지 업로드 및 변경
+    UserProfileView getProfileView(String userId);                 // 내 프로필 조회 (조건부 조회용 version·수정 시각 포함)
+    // expectedVersion: If-Match 의 version (null 이면 조건 없음, 다르면 412)
+    ResponseUser updateProfile(String userId, UpdateProfileRequest req, Long expectedVersion);        // 내 프로필 수정
+    ResponseUser updateProfileImage(String userId, MultipartFile file, Long expectedVersion);         // 프로필 이미지 업로드 및 변경
 
-    void deleteUser(String userId);                                // 탈퇴 (삭제 표시)
+    void deleteUser(String userId, Long expectedVersion);          // 탈퇴 (삭제 표시)
 
     ResponseUser getUserDetailsByEmail(String email);              // 이메일로 회원 정보 조회
 
     Iterable<ResponseUser> getAllUsers();                          // 전체 회원 조회
+    UserListVersionView getAllUsersVersion();                      // 전체 회원 조건부 조회용 집계
 
     public void notifyDigestCompleted(UUID userId, String title,
                                       LocalDate periodStart, LocalDate periodEnd, String summary);
@@ -1,36 +1,40 @@
 package com.example.userservice.service;
 
+import com.example.userservice.config.ReadYourWritesTracker;
+import com.example.userservice.config.ShardRouter;
+import com.example.userservice.config.SingleFlight;
+import com.example.userservice.dto.EmailTokenClaims;
 import com.example.userservice.dto.UserDto;
 import com.example.userservice.jpa.Theme;
 import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserEventType;
+import com.example.userservice.jpa.UserListVersionView;
+import com.example.userservice.jpa.UserOutboxEntity;
+import com.example.userservice.jpa.UserOutboxRepository;
+import com.example.userservice.jpa.UserProfileView;
 import com.example.userservice.jpa.UserRepository;
+import com.example.userservice.security.LoginUser;
+import com.example.userservice.security.TokenRevocationStore;
 import com.example.userservice.vo.*;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import javax.crypto.SecretKey;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -38,63 +42,48 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
-    private final ModelMapper mapper;
     private final EmailService emailService;
     private final OciStorageService storageService;
+    private final ReadYourWritesTracker readYourWrites;
+    private final SingleFlight singleFlight;
+    private final ShardRouter shards;
+    private final UserOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenRevocationStore revocations;
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    // JWT 서명 키 생성
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    // 로드 사용자
+    // 로드 사용자 (탈퇴 회원 제외, 토큰 발급에 쓸 userId 포함 → 로그인은 조회 한 번)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity userEntity = userRepository.findByEmail(username);
-        if (userEntity == null) throw new UsernameNotFoundException(username);
-        return User.builder()
-                .username(userEntity.getEmail())
-                .password(userEntity.getEncryptedPwd())
-                .authorities(new ArrayList<>())
-                .build();
+        UserEntity userEntity = findByEmail(username);
+        if (userEntity == null || userEntity.isDeleted()) throw new UsernameNotFoundException(username);
+        return new LoginUser(userEntity.getUserId(), userEntity.getEmail(), userEntity.getEncryptedPwd(),
+                new ArrayList<>());
     }
 
     // 회원가입
     @Override
     public ResponseUser signup(RequestUser req) {
-        // 1) JWT 토큰 파싱 및 유효성 검증
-        Claims claims;
-        try {
-            claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(req.getToken())
-                    .getBody();
-        } catch (ExpiredJwtException ex) {
-            throw new IllegalArgumentException("인증 토큰이 만료되었습니다.");
-        } catch (JwtException ex) {
-            throw new IllegalArgumentException("유효하지 않은 인증 토큰입니다.");
-        }
-        // 토큰 타입 및 이메일 일치 여부 확인
-        if (!"signup".equals(claims.get("type", String.class)) ||
-                !claims.getSubject().equals(req.getEmail())) {
+        // 1) JWT 토큰 검증 (요청당 한 번) 및 이메일 일치 여부 확인
+        EmailTokenClaims claims = emailService.verifySignupToken(req.getToken());
+        if (!claims.getEmail().equals(req.getEmail())) {
             throw new IllegalArgumentException("토큰 검증에 실패했습니다.");
         }
 
         // 2) 기존 사용자 조회
-        UserEntity userEntity = userRepository.findByEmail(req.getEmail());
-        if (userEntity == null) {
+        UserEntity userEntity = findByEmail(req.getEmail());
+        boolean newUser = userEntity == null;
+        int shard;
+        if (newUser) {
             userEntity = UserEntity.builder()
                     .userId(UUID.randomUUID().toString())            // UUID 생성
                     .email(req.getEmail())                           // 이메일 필수 세팅
                     .build();
+            // 샤딩 시 새 회원의 샤드 결정 + 이메일 선점 (동시 가입은 한쪽만 성공)
+            shard = shards.assignNewUser(userEntity.getUserId(), req.getEmail());
         } else if (userEntity.isDeleted()) {
             // 복구 가입
             userEntity.restore();
+            shard = shards.shardOfUser(userEntity.getUserId());
         } else {
             throw new IllegalArgumentException("이미 사용 중인 이메일입니다.");
         }
@@ -107,9 +96,23 @@ public class UserServiceImpl implements UserService {
         // 이메일 인증된 상태로 설정
         userEntity.verifyEmail();
 
-        // 4) DB 저장 및 응답
-        userRepository.save(userEntity);
-        return mapToResponse(userEntity, null);
+        // 4) DB 저장 + 변경 이벤트 기록 (같은 트랜잭션) 및 응답
+        UserEntity toSave = userEntity;
+        UserEntity saved;
+        try {
+            saved = shards.onShard(shard, () -> transactionTemplate.execute(status -> {
+                UserEntity result = userRepository.saveAndFlush(toSave);
+                appendEvent(result.getUserId(), result.getVersion(), UserEventType.CREATED,
+                        "email,name,birthDate,theme,profileImageUrl");
+                return result;
+            }));
+        } catch (RuntimeException e) {
+            // 신규 가입 저장 실패: 선점한 이메일을 바로 풀어 다시 가입할 수 있게 함
+            if (newUser) shards.releaseNewUser(toSave.getUserId());
+            throw e;
+        }
+        recordWrite(saved.getUserId(), saved.getEmail());
+        return ResponseUserMapper.toResponse(saved, null);
     }
 
     @Override
@@ -118,12 +121,12 @@ public class UserServiceImpl implements UserService {
                                       LocalDate periodStart,
                                       LocalDate periodEnd,
                                       String summary) {
-        // 1) UUID로 사용자 조회
-        UserEntity user = userRepository.findByUserId(userId.toString());
-        // 없는 사용자면 404 에러 던지기
-        if (user == null || user.isDeleted()) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다: " + userId);
-        }
+        // 1) UUID로 사용자 조회 (알림이 몰리면 같은 회원 조회는 한 번만, 탈퇴 회원 제외)
+        String id = userId.toString();
+        UserProfileView user = singleFlight.execute("profile", id,
+                        () -> shards.onUser(id, () -> userRepository.findProfileByUserIdAndDeletedFalse(id)))
+                // 없는 사용자면 404 에러 던지기
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다: " + userId));
 
         // 2) 이메일로 다이제스트 완료 알림 전송
         emailService.sendDigestCompletionEmail(user.getEmail(), userId, title, periodStart, periodEnd, summary);
@@ -132,7 +135,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void sendSignupVerification(String email) {
         // DB 조회: 이미 활성화된 계정이 있으면 중복 예외
-        UserEntity existing = userRepository.findByEmail(email);
+        UserEntity existing = findByEmail(email);
         if (existing != null && !existing.isDeleted()) {
             // 이미 사용 중인(삭제되지 않은) 이메일인 경우 예외 발생
             throw new IllegalArgumentException("이미 사용 중인 이메일입니다.");
@@ -144,31 +147,24 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public boolean verifySignupToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        if (!"signup".equals(claims.get("type",String.class))) {
-            throw new IllegalArgumentException("잘못된 토큰 타입");
-        }
+        emailService.verifySignupToken(token);
         return true;
     }
 
     // 로그인
     @Override
     public ResponseUser login(String email, String password) {
-        UserEntity userEntity = userRepository.findByEmail(email);
+        UserEntity userEntity = findByEmail(email);
         if (userEntity == null || !passwordEncoder.matches(password, userEntity.getEncryptedPwd())) {
             throw new BadCredentialsException("로그인 정보가 올바르지 않습니다.");
         }
-        return mapToResponse(userEntity, null);
+        return ResponseUserMapper.toResponse(userEntity, null);
     }
 
     // 비밀번호 재설정 요청
     @Override
     public void sendPasswordReset(PasswordResetRequest req) {
-        UserEntity userEntity = userRepository.findByEmail(req.getEmail());
+        UserEntity userEntity = findByEmail(req.getEmail());
         if (userEntity == null) throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
         emailService.sendPasswordResetLink(req.getEmail());
     }
@@ -176,100 +172,198 @@ public class UserServiceImpl implements UserService {
     // 비밀번호 재설정 토큰 검증 및 비밀번호 변경
     @Override
     public void confirmPasswordReset(PasswordResetConfirmRequest req) {
-        try {
-            boolean ok = emailService.verifyPasswordResetToken(req.getToken());
-            if (!ok) {
-                throw new IllegalArgumentException("유효하지 않은 비밀번호 재설정 토큰입니다.");
-            }
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(req.getToken())
-                    .getBody();
-            String email = claims.getSubject();
-            UserEntity userEntity = userRepository.findByEmail(email);
-            if (userEntity == null || userEntity.isDeleted()) {
-                throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
+        // 검증된 토큰의 이메일을 그대로 사용 (다시 파싱하지 않음)
+        String email = emailService.verifyPasswordResetToken(req.getToken()).getEmail();
+        String encoded = passwordEncoder.encode(req.getNewPassword());
+        // version 을 올리는 변경이므로 다른 변경과 같이 UPDATED 이벤트를 남김 (구독자가 version 공백을 유실로 보지 않도록)
+        // userId·version 은 쓰기 트랜잭션(primary)에서 읽어 UPDATE 조건과 이벤트 version 의 기준으로 씀
+        String userId = shards.onEmail(email, () -> transactionTemplate.execute(status -> {
+            UserProfileView current = userRepository.findProfileByEmailAndDeletedFalse(email).orElse(null);
+            if (current == null) return null;
+            long version = current.getVersion();
+            if (userRepository.updatePassword(current.getUserId(), encoded, LocalDateTime.now(), version) == 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "비밀번호 변경 중 회원 정보가 변경되었습니다.");
             }
-            userEntity.setEncryptedPwd(passwordEncoder.encode(req.getNewPassword()));
-            userRepository.save(userEntity);
-        } catch (ExpiredJwtException ex) {
-            throw new IllegalArgumentException("비밀번호 재설정 토큰이 만료되었습니다.");
-        } catch (JwtException ex) {
-            throw new IllegalArgumentException("유효하지 않은 비밀번호 재설정 토큰입니다.");
+            appendEvent(current.getUserId(), version + 1, UserEventType.UPDATED, "password");
+            return current.getUserId();
+        }), Objects::nonNull);
+        if (userId == null) {
+            throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
         }
+        recordWrite(userId, email);
     }
 
     // 프로필 조회
     @Override
     public ResponseUser getProfile(String userId) {
-        UserEntity userEntity = userRepository.findByUserId(userId);
-        if (userEntity == null || userEntity.isDeleted()) {
-            throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
-        }
-        return mapToResponse(userEntity, null);
+        return ResponseUserMapper.toResponse(getProfileView(userId), null);
+    }
+
+    // 프로필 프로젝션 조회 (version·updatedAt 포함, 조건부 GET 도 이 쿼리 한 번으로 판단)
+    @Override
+    public UserProfileView getProfileView(String userId) {
+        return readYourWrites.read(userId, () -> singleFlight.execute("profile", userId,
+                        () -> shards.onUser(userId, () -> userRepository.findProfileByUserIdAndDeletedFalse(userId))))
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
     }
 
-    // 프로필 수정
+    // 프로필 수정 (조건부 UPDATE + outbox INSERT, 트랜잭션은 회원 샤드에서 시작)
+    // 응답은 요청 값으로 만들고 변경된 행을 다시 읽지 않음 (이메일·이미지 URL 은 GET /users/profile 로 조회)
     @Override
-    public ResponseUser updateProfile(String userId, UpdateProfileRequest req) {
-        UserEntity entity = userRepository.findByUserId(userId);
-        if (entity == null || entity.isDeleted()) throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
-        entity.changeName(req.getName());
-        entity.changeBirthDate(req.getBirthDate());
-        entity.changeTheme(req.getTheme());
-        userRepository.save(entity);
-        return mapToResponse(entity, null);
+    public ResponseUser updateProfile(String userId, UpdateProfileRequest req, Long expectedVersion) {
+        shards.onUser(userId, () -> transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = userRepository.updateProfile(userId, req.getName(), req.getBirthDate(),
+                    req.getTheme(), now, expectedVersion);
+            if (updated == 0) throw notUpdated(userId, expectedVersion);
+            outboxRepository.appendForUser(userId, UserEventType.UPDATED, "name,birthDate,theme", now);
+            return null;
+        }));
+        recordWrite(userId);
+        return ResponseUser.builder()
+                .userId(userId)
+                .name(req.getName())
+                .birthDate(req.getBirthDate())
+                .theme(req.getTheme().name())
+                .build();
     }
 
-    // 프로필 이미지 수정
+    // 프로필 이미지 수정 (업로드는 트랜잭션 밖에서, 저장은 조건부 UPDATE)
+    // 업로드 전에 회원·version 을 따로 확인하지 않음: 없는 회원이거나 version 이 다르면 UPDATE 가 0건이 되어
+    // 404/412 로 끝나고 올린 객체만 남음 (드문 실패 경우의 저장 공간보다 매 요청의 조회를 줄임)
     @Override
-    public ResponseUser updateProfileImage(String userId, MultipartFile file) {
-        UserEntity entity = userRepository.findByUserId(userId);
-        if (entity == null || entity.isDeleted()) throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
+    public ResponseUser updateProfileImage(String userId, MultipartFile file, Long expectedVersion) {
         String url = storageService.uploadProfileImage(userId, file);
-        entity.setProfileImageUrl(url);
-        userRepository.save(entity);
-        return mapToResponse(entity, null);
+        UserProfileView profile = shards.onUser(userId, () -> transactionTemplate.execute(status -> {
+            int updated = userRepository.updateProfileImageUrl(userId, url, LocalDateTime.now(), expectedVersion);
+            if (updated == 0) throw notUpdated(userId, expectedVersion);
+            UserProfileView changed = findChangedProfile(userId);
+            appendEvent(userId, changed.getVersion(), UserEventType.UPDATED, "profileImageUrl");
+            return changed;
+        }));
+        recordWrite(userId);
+        return ResponseUserMapper.toResponse(profile, null);
     }
 
-    // 프로필 탈퇴
+    // 프로필 탈퇴 (이미 탈퇴한 회원이면 변경 없음)
     @Override
-    public void deleteUser(String userId) {
-        UserEntity userEntity = userRepository.findByUserId(userId);
-        if (userEntity != null && !userEntity.isDeleted()) {
-            userEntity.markDeleted(LocalDateTime.now());
-            userRepository.save(userEntity);
-        }
+    public void deleteUser(String userId, Long expectedVersion) {
+        // 탈퇴 전에 발급된 로그인 토큰 모두 폐기
+        // 폐기 목록은 0번 샤드에 있어 회원 샤드와 한 트랜잭션으로 묶을 수 없으므로 먼저 기록
+        // (탈퇴가 실패해도 다시 로그인하면 되고, 폐기 없이 탈퇴만 되는 경우는 없음.
+        //  If-Match 가 맞지 않아 412 로 끝나도 토큰은 폐기된 상태)
+        revocations.revokeUser(userId);
+        // 조건부 UPDATE 한 번으로 탈퇴 표시, 이벤트 version 은 INSERT ... SELECT 로 UPDATE 결과를 그대로 사용
+        shards.onUser(userId, () -> transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (userRepository.markDeleted(userId, now, expectedVersion) == 0) {
+                // 없는(이미 탈퇴한) 회원이면 변경 없음, 회원은 있는데 version 이 다르면 412
+                if (expectedVersion != null
+                        && userRepository.findVersionViewByUserIdAndDeletedFalse(userId).isPresent()) {
+                    throw preconditionFailed();
+                }
+                return null;
+            }
+            outboxRepository.appendForUser(userId, UserEventType.DELETED, "deleted", now);
+            return null;
+        }));
+        recordWrite(userId);
     }
 
     @Override
     public Iterable<ResponseUser> getAllUsers() {
-        return userRepository.findAll().stream()
-                .filter(u -> !u.isDeleted())
-                .map(u -> mapToResponse(u, null))
+        // 샤드별로 동시에 활성 회원만 조회해 합침
+        return shards.fanOut(userRepository::findAllByDeletedFalseOrderByIdAsc).stream()
+                .flatMap(Collection::stream)
+                .map(u -> ResponseUserMapper.toResponse(u, null))
                 .toList();
     }
 
+    @Override
+    public UserListVersionView getAllUsersVersion() {
+        List<UserListVersionView> perShard = shards.fanOut(userRepository::findListVersion);
+        if (perShard.size() == 1) return perShard.get(0);
+        return new ListVersion(
+                perShard.stream().mapToLong(UserListVersionView::getCount).sum(),
+                perShard.stream().mapToLong(UserListVersionView::getVersionSum).sum(),
+                perShard.stream().map(UserListVersionView::getLastUpdatedAt)
+                        .filter(Objects::nonNull).max(LocalDateTime::compareTo).orElse(null));
+    }
+
     @Override
     public ResponseUser getUserDetailsByEmail(String email) {
-        UserEntity ue = userRepository.findByEmail(email);
-        if (ue == null || ue.isDeleted()) {
-            throw new UsernameNotFoundException("User not found: " + email);
+        Optional<UserProfileView> found = readYourWrites.read(email, () -> singleFlight.execute("profile-email", email,
+                () -> findProfileByEmail(email)));
+        // 탈퇴처럼 userId 로만 쓰기를 기록한 변경 직후라면 복제본 결과 대신 primary 에서 다시 조회
+        if (found.isPresent() && !readYourWrites.isRecentlyWritten(email)
+                && readYourWrites.isRecentlyWritten(found.get().getUserId())) {
+            found = readYourWrites.read(found.get().getUserId(), () -> findProfileByEmail(email));
         }
+        UserProfileView profile = found
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        return ResponseUserMapper.toResponse(profile, null);
+    }
 
-        return mapToResponse(ue, null);
+    // 쓰기 후: 복제본 대신 primary 에서 읽고, 쓰기 전에 시작된 조회 결과를 공유받지 않도록 기록
+    private void recordWrite(String... keys) {
+        readYourWrites.recordWrite(keys);
+        singleFlight.recordWrite(keys);
     }
 
-    private ResponseUser mapToResponse(UserEntity userEntity, String token) {
-        return ResponseUser.builder()
-                .userId(userEntity.getUserId())
-                .email(userEntity.getEmail())
-                .name(userEntity.getName())
-                .birthDate(userEntity.getBirthDate())
-                .profileImageUrl(userEntity.getProfileImageUrl())
-                .theme(userEntity.getTheme().name())
-                .token(token)
-                .build();
+    private Optional<UserProfileView> findProfileByEmail(String email) {
+        return shards.onEmail(email, () -> userRepository.findProfileByEmailAndDeletedFalse(email), Optional::isPresent);
+    }
+
+    // 이메일이 있는 샤드에서 회원 조회
+    private UserEntity findByEmail(String email) {
+        return shards.onEmail(email, () -> userRepository.findByEmail(email), Objects::nonNull);
+    }
+
+    // 조건부 UPDATE 가 0건: If-Match 가 없거나 회원이 없으면 404, 회원은 있는데 version 이 다르면 412
+    private RuntimeException notUpdated(String userId, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.findVersionViewByUserIdAndDeletedFalse(userId).isPresent()) {
+            return preconditionFailed();
+        }
+        return new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
+    }
+
+    private static ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "프로필이 다른 요청으로 변경되었습니다.");
+    }
+
+    // 변경 직후 같은 트랜잭션에서 최신 상태 조회
+    private UserProfileView findChangedProfile(String userId) {
+        return userRepository.findProfileByUserIdAndDeletedFalse(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+    }
+
+    // 회원 변경 이벤트를 outbox에 기록 (호출하는 쪽 트랜잭션에 참여)
+    private void appendEvent(String userId, Long version, UserEventType type, String changedFields) {
+        outboxRepository.save(UserOutboxEntity.builder()
+                .userId(userId)
+                .version(version)
+                .eventType(type)
+                .changedFields(changedFields)
+                .build());
+    }
+
+    // 샤드별 목록 집계를 합친 결과
+    private record ListVersion(Long count, Long versionSum, LocalDateTime lastUpdatedAt)
+            implements UserListVersionView {
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+
+        @Override
+        public Long getVersionSum() {
+            return versionSum;
+        }
+
+        @Override
+        public LocalDateTime getLastUpdatedAt() {
+            return lastUpdatedAt;
+        }
     }
 }
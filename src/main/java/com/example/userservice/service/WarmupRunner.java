@@ -0,0 +1,152 @@
+package com.example.userservice.service;
+
+import com.example.userservice.config.StartupLatencyRecorder;
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserRepository;
+import com.example.userservice.security.JwtKeyProvider;
+import com.example.userservice.security.TokenRevocationStore;
+import com.example.userservice.vo.RequestLogin;
+import com.example.userservice.vo.ResponseUser;
+import com.example.userservice.vo.UpdateProfileRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * 배포 직후 첫 요청들이 인터프리터·C1 단계에서 처리되며 p99 가 튀는 것을 줄이기 위해,
+ * 준비(readiness) 전에 자주 쓰이는 경로를 미리 실행합니다.
+ * ApplicationRunner 는 ApplicationReadyEvent(ReadinessState.ACCEPTING_TRAFFIC) 전에 실행되므로 끝날 때까지 트래픽을 받지 않습니다.
+ *
+ * 저장하지 않는 임시 회원으로 JWT 서명·검증, bcrypt, ResponseUser 직렬화, 회원 조회 쿼리(결과 없음)만 실행하고
+ * 메일 발송·스토리지 업로드·DB 쓰기는 하지 않습니다.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private final JwtKeyProvider keyProvider;
+    private final TokenRevocationStore revocations;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final StartupLatencyRecorder startupLatency;
+    private final boolean enabled;
+    private final int iterations;
+    private final int bcryptIterations;
+
+    public WarmupRunner(JwtKeyProvider keyProvider,
+                        TokenRevocationStore revocations,
+                        BCryptPasswordEncoder passwordEncoder,
+                        ObjectMapper objectMapper,
+                        UserRepository userRepository,
+                        PlatformTransactionManager transactionManager,
+                        StartupLatencyRecorder startupLatency,
+                        @Value("${app.warmup.enabled:true}") boolean enabled,
+                        @Value("${app.warmup.iterations:500}") int iterations,
+                        @Value("${app.warmup.bcrypt-iterations:10}") int bcryptIterations) {
+        this.keyProvider = keyProvider;
+        this.revocations = revocations;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.startupLatency = startupLatency;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.bcryptIterations = bcryptIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("JIT warm-up disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            warmUp();
+            startupLatency.markWarmedUp();
+            log.info("JIT warm-up finished: {} iterations ({} bcrypt) in {} ms",
+                    iterations, bcryptIterations, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 워밍업 실패로 기동을 막지는 않음
+            log.warn("JIT warm-up failed after {} ms, continuing startup",
+                    (System.nanoTime() - start) / 1_000_000, e);
+        }
+    }
+
+    private void warmUp() {
+        String userId = UUID.randomUUID().toString();
+        String email = "warmup-" + userId + "@warmup.invalid";
+        String password = "warmup-" + userId;
+
+        // bcrypt: 로그인(matches)·가입/비밀번호 변경(encode)
+        String hash = passwordEncoder.encode(password);
+        for (int i = 0; i < bcryptIterations; i++) {
+            passwordEncoder.matches(password, hash);
+        }
+
+        UserEntity user = UserEntity.builder()
+                .userId(userId)
+                .email(email)
+                .name("warmup")
+                .encryptedPwd(hash)
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .profileImageUrl("warmup.png")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        for (int i = 0; i < iterations; i++) {
+            // JWT: 로그인 토큰 발급 → 인가 필터의 검증·폐기 확인
+            Instant now = Instant.now();
+            String token = keyProvider.sign(Jwts.builder()
+                    .setId(UUID.randomUUID().toString())
+                    .setSubject(userId)
+                    .setIssuedAt(Date.from(now))
+                    .setExpiration(Date.from(now.plusSeconds(60))));
+            Claims claims = keyProvider.parse(token);
+            revocations.isRevoked(claims);
+
+            // Jackson: 응답 직렬화·요청 역직렬화
+            try {
+                ResponseUser response = ResponseUserMapper.toResponse(user, token);
+                objectMapper.writeValueAsString(response);
+                objectMapper.readValue("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}",
+                        RequestLogin.class);
+                objectMapper.readValue("{\"name\":\"warmup\",\"birthDate\":\"2000-01-01\","
+                        + "\"profileImageUrl\":\"warmup.png\",\"theme\":\"DARK\"}", UpdateProfileRequest.class);
+            } catch (Exception e) {
+                throw new IllegalStateException("JSON warm-up failed", e);
+            }
+        }
+
+        // Hibernate: 조회 경로의 쿼리 해석·PreparedStatement 준비 (없는 회원이므로 결과 없음, 읽기 전용 트랜잭션)
+        int queryIterations = Math.max(1, iterations / 10);
+        for (int i = 0; i < queryIterations; i++) {
+            readOnlyTx.executeWithoutResult(status -> {
+                userRepository.findByEmail(email);
+                userRepository.findProfileByUserIdAndDeletedFalse(userId);
+                userRepository.findProfileByEmailAndDeletedFalse(email);
+            });
+        }
+    }
+}
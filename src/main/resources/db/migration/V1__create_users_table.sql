@@ -0,0 +1,20 @@
+-- 기준 스키마: 기존 ddl-auto 로 생성된 users 테이블 (user_id BINARY(16) 전환 이후)
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT        NOT NULL AUTO_INCREMENT,
+    user_id           BINARY(16)    NOT NULL,
+    email             VARCHAR(255)  NOT NULL,
+    encrypted_pwd     VARCHAR(100)  NOT NULL,
+    name              VARCHAR(255)  NOT NULL,
+    birth_date        DATE          NOT NULL,
+    theme             ENUM ('LIGHT','DARK') NOT NULL,
+    profile_image_url VARCHAR(1000),
+    deleted           BIT           NOT NULL,
+    deleted_at        DATETIME(6),
+    email_verified    BIT           NOT NULL,
+    email_verified_at DATETIME(6),
+    created_at        DATETIME(6)   NOT NULL,
+    updated_at        DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_user_id UNIQUE (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
@@ -0,0 +1,5 @@
+-- 활성 회원 목록 조회 (WHERE deleted = false ORDER BY id)
+CREATE INDEX idx_users_deleted_id ON users (deleted, id);
+
+-- 탈퇴 회원 정리 작업 (WHERE deleted_at < ?)
+CREATE INDEX idx_users_deleted_at ON users (deleted_at);
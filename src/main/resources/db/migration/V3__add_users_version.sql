@@ -0,0 +1,2 @@
+-- 낙관적 잠금용 버전 컬럼 (조건부 UPDATE 마다 1씩 증가)
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
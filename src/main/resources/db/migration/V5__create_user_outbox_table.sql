@@ -0,0 +1,10 @@
+-- 회원 변경 이벤트 outbox: 회원 변경과 같은 트랜잭션에서 기록, 릴레이가 발행 후 삭제
+CREATE TABLE user_outbox (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id        BINARY(16)   NOT NULL,
+    version        BIGINT       NOT NULL,
+    event_type     ENUM ('CREATED','UPDATED','DELETED') NOT NULL,
+    changed_fields VARCHAR(255) NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,2 @@
+-- 마지막 활동 시각 (ActivityTracker 가 주기적으로 모아서 갱신)
+ALTER TABLE users ADD COLUMN last_active_at DATETIME(6) NULL;
@@ -0,0 +1,13 @@
+-- 로그인 토큰 폐기 목록: 로그아웃(jti)과 탈퇴(user_id + not_before) 기록
+-- 각 인스턴스가 id 순으로 주기적으로 읽어 메모리에 반영, expires_at 이 지나면 정리
+CREATE TABLE token_revocations (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    jti         BINARY(16)  NULL,
+    user_id     BINARY(16)  NULL,
+    not_before  DATETIME(6) NULL,
+    expires_at  DATETIME(6) NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_token_revocations_expires_at (expires_at),
+    KEY idx_token_revocations_created_at (created_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,46 @@
+-- users.user_id : VARCHAR(255) UUID 문자열 -> BINARY(16) 전환
+--
+-- Flyway 기준선(db/migration/V1)은 전환 이후 스키마이므로, VARCHAR user_id 로 만들어진 기존 DB 는
+-- Flyway 가 들어간 버전을 배포하기 전에 이 스크립트를 한 번 실행합니다 (3단계 전에 쓰기 중단 필요). 신규 DB 는 V1 으로 바로 생성됩니다.
+--
+-- 1) 새 컬럼 추가
+ALTER TABLE users ADD COLUMN user_id_bin BINARY(16) NULL AFTER user_id;
+
+-- 2) 기존 행 백필: 기본키 구간(5만 건)씩 갱신
+--    `WHERE user_id_bin IS NULL LIMIT n` 은 이미 채운 행을 매번 다시 훑고 인덱스 없는 조건이라 잠금 범위가 넓어지므로,
+--    id 범위로 나눠 각 구간이 PRIMARY 인덱스 범위 스캔·짧은 트랜잭션이 되게 합니다.
+DROP PROCEDURE IF EXISTS backfill_user_id_bin;
+DELIMITER //
+CREATE PROCEDURE backfill_user_id_bin()
+BEGIN
+    DECLARE batch_size BIGINT DEFAULT 50000;
+    DECLARE next_id BIGINT;
+    DECLARE max_id BIGINT;
+    SELECT COALESCE(MIN(id), 1), COALESCE(MAX(id), 0) INTO next_id, max_id FROM users;
+    WHILE next_id <= max_id DO
+        UPDATE users
+           SET user_id_bin = UNHEX(REPLACE(user_id, '-', ''))
+         WHERE id BETWEEN next_id AND next_id + batch_size - 1
+           AND user_id_bin IS NULL;
+        COMMIT;
+        SET next_id = next_id + batch_size;
+    END WHILE;
+END //
+DELIMITER ;
+CALL backfill_user_id_bin();
+DROP PROCEDURE backfill_user_id_bin;
+
+-- 3) 교체 직전 확인
+--    백필은 실행 시점의 max(id) 까지만 채우고, 백필 뒤에 가입·수정된 행은 user_id_bin 이 비어 있습니다.
+--    따라서 이 단계 전에 서비스의 쓰기를 멈춰야 합니다 (또는 기존 버전이 user_id 와 user_id_bin 을 함께 쓰도록 이중 쓰기 배포 후 진행).
+--    쓰기를 멈춘 뒤 남은 행을 마저 채우고, 0 이 나오는지 확인한 다음 교체합니다.
+UPDATE users
+   SET user_id_bin = UNHEX(REPLACE(user_id, '-', ''))
+ WHERE user_id_bin IS NULL;
+SELECT COUNT(*) AS remaining FROM users WHERE user_id_bin IS NULL;
+
+-- 4) 기존 컬럼 제거 (단일 컬럼 unique 인덱스도 함께 제거됨) 후 새 컬럼으로 교체
+ALTER TABLE users DROP COLUMN user_id;
+ALTER TABLE users
+    CHANGE COLUMN user_id_bin user_id BINARY(16) NOT NULL,
+    ADD CONSTRAINT uk_users_user_id UNIQUE (user_id);
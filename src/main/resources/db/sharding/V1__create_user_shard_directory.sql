@@ -0,0 +1,10 @@
+-- 샤딩 사용 시 0번(홈) 샤드에만 생성 (이력 테이블: flyway_sharding_history)
+-- 이메일 → 샤드 디렉터리: email_hash = SHA-256(소문자 이메일) 앞 16바이트
+-- 이메일 중복은 샤드별 unique 로는 막을 수 없으므로 email_hash 기본키로 막음
+CREATE TABLE user_shard_directory (
+    email_hash BINARY(16) NOT NULL,
+    user_id    BINARY(16) NOT NULL,
+    shard      SMALLINT   NOT NULL,
+    PRIMARY KEY (email_hash),
+    CONSTRAINT uk_user_shard_directory_user_id UNIQUE (user_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- 이메일 선점 시각: 가입 도중인 선점(회원 행 저장 전)을 다른 가입이 가로채지 않도록
+-- 소유자 행이 없는 항목은 선점 후 일정 시간이 지난 경우에만 새 회원으로 교체
+ALTER TABLE user_shard_directory ADD COLUMN claimed_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
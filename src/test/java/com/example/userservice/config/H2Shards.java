@@ -0,0 +1,70 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.UuidBinaryConverter;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 샤딩 테스트용 인메모리 H2 샤드 (MySQL 모드). ShardingConfig 와 같은 마이그레이션을 적용합니다.
+ */
+final class H2Shards {
+
+    private H2Shards() {
+    }
+
+    static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    // 이름이 겹치지 않는 샤드 count 개 (0번에만 디렉터리 테이블)
+    static List<DataSource> create(int count) {
+        String prefix = "shard-" + UUID.randomUUID();
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards.add(migrate(url(prefix + "-" + i), i == ShardRoutingDataSource.HOME_SHARD));
+        }
+        return shards;
+    }
+
+    static DataSource migrate(String url, boolean home) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        if (home) {
+            Flyway.configure().dataSource(dataSource)
+                    .locations("classpath:db/sharding")
+                    .table("flyway_sharding_history")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .load()
+                    .migrate();
+        }
+        return dataSource;
+    }
+
+    static String insertUser(DataSource shard, String email) {
+        String userId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        new JdbcTemplate(shard).update("INSERT INTO users (user_id, email, encrypted_pwd, name, birth_date, theme, "
+                        + "deleted, email_verified, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                UuidBinaryConverter.toBytes(userId), email, "{noop}password", "Shard", "2000-01-01", "LIGHT",
+                false, true, now, now);
+        return userId;
+    }
+
+    static int countUsers(DataSource shard, String userId) {
+        Integer count = new JdbcTemplate(shard).queryForObject("SELECT COUNT(*) FROM users WHERE user_id = ?",
+                Integer.class, (Object) UuidBinaryConverter.toBytes(userId));
+        return count == null ? 0 : count;
+    }
+}
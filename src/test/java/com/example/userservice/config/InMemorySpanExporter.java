@@ -0,0 +1,42 @@
+package com.example.userservice.config;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 내보낸 span 을 메모리에 모아 두는 테스트용 exporter 입니다.
+ * 빈으로 등록하면 Spring Boot 가 만드는 SdkTracerProvider 의 BatchSpanProcessor 에 연결됩니다.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+    public List<SpanData> getFinishedSpans() {
+        return List.copyOf(spans);
+    }
+
+    public void reset() {
+        spans.clear();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        spans.addAll(batch);
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserRepository;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 액추에이터가 관리 포트에서만 응답하고, 서비스 포트에는 /health-check 만 남는지,
+ * 수집 결과에 요청·외부 호출 지연 히스토그램이 있는지 확인합니다.
+ * 테스트에서는 메트릭 내보내기가 꺼져 있으므로 @AutoConfigureObservability 로 Prometheus 레지스트리를 켭니다.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ManagementPortIntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @MockitoBean
+    private ObjectStorage objectStorage;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusIsScrapedFromTheManagementPort() throws Exception {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/plain"));
+        assertThat(scrape.body())
+                .contains("hikaricp_connections_active")
+                .contains("application=\"UserService\"");
+    }
+
+    // 요청에서 요구한 지연 분포: 경로 템플릿 uri 태그의 HTTP 히스토그램과 외부 호출·암호 연산 타이머
+    @Test
+    void scrapeExposesRequestHistogramsAndDependencyTimers() throws Exception {
+        String email = "scrape-" + UUID.randomUUID() + "@example.com";
+        String userId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(UserEntity.builder()
+                .userId(userId)
+                .email(email)
+                .encryptedPwd(passwordEncoder.encode("password123"))
+                .name("Scrape")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .emailVerified(true)
+                .build()));
+
+        HttpResponse<String> login = post(serverPort, "/users/login", "application/json",
+                ("{\"email\":\"" + email + "\",\"password\":\"password123\"}").getBytes(StandardCharsets.UTF_8),
+                null);
+        assertThat(login.statusCode()).isEqualTo(200);
+        String token = login.headers().firstValue("token").orElseThrow();
+
+        String boundary = "scrape-" + UUID.randomUUID();
+        HttpResponse<String> upload = post(serverPort, "/users/" + userId + "/profile-image",
+                "multipart/form-data; boundary=" + boundary, imagePart(boundary), token);
+        assertThat(upload.statusCode()).isEqualTo(200);
+
+        // 테스트 메일 서버는 없으므로 전송은 실패하지만 mail.send 는 기록됨
+        post(serverPort, "/users/password-reset/request", "application/json",
+                ("{\"email\":\"" + email + "\"}").getBytes(StandardCharsets.UTF_8), null);
+
+        String scrape = get(managementPort, "/actuator/prometheus").body();
+        assertThat(scrape.lines())
+                .anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                        && line.contains("uri=\"/users/{userId}/profile-image\""));
+        assertThat(scrape.lines())
+                .filteredOn(line -> line.startsWith("http_server_requests"))
+                .noneMatch(line -> line.contains(userId));
+        for (String timer : List.of("mail_send", "storage_upload", "password_encode", "password_match", "jwt_verify")) {
+            assertThat(scrape.lines()).as(timer)
+                    .anyMatch(line -> line.startsWith(timer + "_seconds_bucket{"));
+        }
+    }
+
+    @Test
+    void actuatorIsNotServedOnTheServicePort() throws Exception {
+        assertThat(get(serverPort, "/actuator/prometheus").statusCode()).isNotEqualTo(200);
+        assertThat(get(serverPort, "/actuator/loggers").statusCode()).isNotEqualTo(200);
+
+        // 서비스 포트의 헬스 체크와 관리 포트의 프로브
+        assertThat(get(serverPort, "/health-check").statusCode()).isEqualTo(200);
+        assertThat(get(managementPort, "/actuator/health/readiness").statusCode()).isEqualTo(200);
+        assertThat(get(managementPort, "/actuator/health/liveness").statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(int port, String path, String contentType, byte[] body, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (token != null) request.header("token", token);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] imagePart(String boundary) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"me.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(new byte[]{1, 2, 3});
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.userservice.config;
+
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * enforce 모드로 회원 API 를 한 번씩 호출해 모든 경로가 @QueryBudget 안에 드는지 확인합니다.
+ * 로그인·프로필 조회는 SQL 한 번이어야 합니다.
+ */
+@SpringBootTest(properties = "app.query-budget.mode=enforce")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest {
+
+    @MockitoBean
+    private ObjectStorage objectStorage;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryBudgetReport report;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void userApiStaysWithinItsQueryBudgets() throws Exception {
+        String email = "budget@example.com";
+
+        MvcResult signup = mockMvc.perform(post("/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","pwd":"password123","name":"Budget","birthDate":"2000-01-01",
+                                 "profileImageUrl":"","token":"%s"}
+                                """.formatted(email, emailToken(email, "signup"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        assertThat(signup.getResponse().getContentAsString()).contains(email);
+
+        MvcResult login = mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String token = login.getResponse().getHeader("token");
+        String userId = login.getResponse().getHeader("userId");
+
+        mockMvc.perform(get("/users/profile").header("token", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/users/profile")
+                        .header("token", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name":"Budget Two","birthDate":"2000-01-02","profileImageUrl":"","theme":"DARK"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Budget Two"))
+                .andExpect(jsonPath("$.theme").value("DARK"));
+        mockMvc.perform(multipart("/users/{userId}/profile-image", userId)
+                        .file(new MockMultipartFile("file", "me.png", "image/png", new byte[]{1, 2, 3}))
+                        .header("token", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users").header("token", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/users/digest/completed")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"%s","title":"Weekly","periodStart":"2026-10-12","periodEnd":"2026-10-18",
+                                 "summary":"summary"}
+                                """.formatted(userId)))
+                .andExpect(status().isOk());
+
+        // 테스트 메일 서버는 없으므로 전송은 실패하지만 조회 수는 기록됨
+        mockMvc.perform(post("/users/email/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"new-" + email + "\"}"));
+        mockMvc.perform(post("/users/password-reset/request")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/users/password-reset/confirm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"token":"%s","newPassword":"password456"}
+                                """.formatted(emailToken(email, "reset"))))
+                .andExpect(status().isOk());
+
+        String relogin = mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password456\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("token");
+        mockMvc.perform(post("/users/logout").header("token", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/users").header("token", relogin))
+                .andExpect(status().isNoContent());
+
+        // 탈퇴한 회원은 로그인할 수 없음
+        mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password456\"}"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(report.violations()).as(report.format()).isEmpty();
+        assertThat(report.maxQueries("POST /users/login")).isEqualTo(1);
+        assertThat(report.maxQueries("GET /users/profile")).isEqualTo(1);
+        // 변경 후 행을 다시 읽지 않음 (수정·outbox / 수정·응답 조회·outbox / 토큰 폐기·탈퇴·outbox)
+        assertThat(report.maxQueries("PUT /users/profile")).isEqualTo(2);
+        assertThat(report.maxQueries("POST /users/{userId}/profile-image")).isEqualTo(3);
+        assertThat(report.maxQueries("DELETE /users")).isEqualTo(3);
+    }
+
+    private String emailToken(String email, String type) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(email)
+                .claim("type", type)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserRepository;
+import com.example.userservice.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * primary + 복제본 H2 두 개로 읽기 라우팅과 read-your-writes 고정을 확인합니다.
+ * 복제는 없으므로 primary 에만 넣은 행은 복제본에서 보이지 않고, 복제된 상태는 copyUsersToReplica 로 만듭니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.routing.replicas[0].username=sa",
+        "app.datasource.routing.replicas[0].password=",
+        "app.datasource.routing.read-your-writes-window-ms=60000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 애플리케이션 Flyway 는 primary 만 마이그레이션하므로 복제본 스키마는 먼저 만듦
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void readOnlyQueriesGoToReplicaUntilTheUserIsWritten() {
+        String userId = insertOnPrimary("routing-read@example.com");
+
+        // 복제본에는 아직 없으므로 readOnly 조회는 실패
+        assertThatThrownBy(() -> userService.getProfileView(userId))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        // 쓰기를 기록한 키는 primary 에서 읽음
+        readYourWrites.recordWrite(userId);
+        assertThat(userService.getProfileView(userId).getEmail()).isEqualTo("routing-read@example.com");
+    }
+
+    @Test
+    void deleteUserPinsEmailLookupsToPrimary() throws SQLException {
+        String email = "routing-delete@example.com";
+        String userId = insertOnPrimary(email);
+        copyUsersToReplica();
+        assertThat(userService.getUserDetailsByEmail(email).getUserId()).isEqualTo(userId);
+
+        userService.deleteUser(userId, null);
+
+        // 복제본은 아직 탈퇴 전 상태지만 userId·email 조회 모두 primary 에서 읽어 탈퇴가 보임
+        assertThatThrownBy(() -> userService.getUserDetailsByEmail(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userService.getProfileView(userId))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    // 쓰기 트랜잭션(primary)에서 저장, read-your-writes 기록 없음
+    private String insertOnPrimary(String email) {
+        String userId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(UserEntity.builder()
+                .userId(userId)
+                .email(email)
+                .encryptedPwd("{noop}password")
+                .name("Routing")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .emailVerified(true)
+                .build()));
+        return userId;
+    }
+
+    // 복제가 따라잡은 상태: primary 의 users 행을 복제본에 그대로 반영
+    private static void copyUsersToReplica() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement select = primary.createStatement();
+             ResultSet rows = select.executeQuery("select * from users")) {
+            ResultSetMetaData meta = rows.getMetaData();
+            int columns = meta.getColumnCount();
+            String placeholders = String.join(", ", Collections.nCopies(columns, "?"));
+            try (PreparedStatement merge = replica.prepareStatement(
+                    "merge into users key (id) values (" + placeholders + ")")) {
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        merge.setObject(i, rows.getObject(i));
+                    }
+                    merge.executeUpdate();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.UuidBinaryConverter;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 샤드 1개 → 3개 재배치를 인메모리 H2 샤드로 확인합니다.
+ */
+class ShardRebalancerTest {
+
+    private static final int USERS = 30;
+
+    private final List<String> urls = new ArrayList<>();
+    private final List<DataSource> shards = new ArrayList<>();
+    private UserShardDirectory directory;
+    private ShardRouter router;
+
+    @AfterEach
+    void shutdown() {
+        if (router != null) router.shutdown();
+        MoveConflictTrigger.reset();
+    }
+
+    @Test
+    void movesUsersToTheirNewShardAndRecordsThemInTheDirectory() {
+        setUp();
+        List<String> userIds = insertUsersOnHomeShard();
+
+        ShardRebalancer.Result result = rebalancer().rebalance();
+
+        long expectedMoves = userIds.stream().filter(userId -> router.placementOf(userId) != 0).count();
+        assertThat(expectedMoves).isPositive();
+        // 샤드를 차례로 훑으므로 옮긴 회원은 대상 샤드에서 한 번 더 확인됨
+        assertThat(result).hasToString("scanned=" + (USERS + expectedMoves) + ", moved=" + expectedMoves + ", skipped=0");
+        for (String userId : userIds) {
+            int placement = router.placementOf(userId);
+            assertThat(locations(userId)).containsExactly(placement);
+            assertThat(directory.findShardByUserId(userId)).contains(placement);
+            assertThat(directory.findShardByEmail(userId + "@example.com")).contains(placement);
+            assertThat(router.shardOfUser(userId)).isEqualTo(placement);
+        }
+
+        // 다시 실행해도 옮길 회원이 없음
+        assertThat(rebalancer().rebalance()).hasToString("scanned=" + USERS + ", moved=0, skipped=0");
+    }
+
+    // 이전 실행이 복사만 하고 중단된 경우: 원본만 정리하고 복사본은 하나만 남김
+    @Test
+    void resumesAMoveThatWasOnlyCopied() {
+        setUp();
+        String userId = insertUserPlacedOff(0);
+        int target = router.placementOf(userId);
+        copyRow(userId, shards.get(0), shards.get(target));
+
+        rebalancer().rebalance();
+
+        assertThat(locations(userId)).containsExactly(target);
+        assertThat(H2Shards.countUsers(shards.get(target), userId)).isEqualTo(1);
+        assertThat(directory.findShardByUserId(userId)).contains(target);
+    }
+
+    // 복사한 뒤 원본이 수정되면 복사본과 디렉터리를 되돌리고 다음 실행으로 미룸
+    @Test
+    void rollsBackAMoveWhenTheSourceChangesDuringCopy() throws SQLException {
+        setUp();
+        String userId = insertUserPlacedOff(0);
+        int target = router.placementOf(userId);
+        MoveConflictTrigger.install(urls.get(target), urls.get(0), userId);
+
+        ShardRebalancer.Result result = rebalancer().rebalance();
+
+        assertThat(result).hasToString("scanned=1, moved=0, skipped=1");
+        assertThat(locations(userId)).containsExactly(0);
+        assertThat(directory.findShardByUserId(userId)).contains(0);
+        assertThat(router.shardOfUser(userId)).isZero();
+
+        // 수정이 끝난 뒤 다시 실행하면 옮겨짐
+        MoveConflictTrigger.reset();
+        assertThat(rebalancer().rebalance()).hasToString("scanned=2, moved=1, skipped=0");
+        assertThat(locations(userId)).containsExactly(target);
+        assertThat(directory.findShardByUserId(userId)).contains(target);
+    }
+
+    // 디렉터리를 바꾼 뒤 복사본에도 쓰기가 들어가면 되돌리면서 지우지 않고 복사본을 유지
+    @Test
+    void keepsTheCopyWhenItChangedBeforeTheRollback() throws SQLException {
+        setUp();
+        String userId = insertUserPlacedOff(0);
+        int target = router.placementOf(userId);
+        MoveConflictTrigger.install(urls.get(target), urls.get(0), userId);
+        MoveConflictTrigger.writeCopyToo();
+
+        ShardRebalancer.Result result = rebalancer().rebalance();
+
+        // 남긴 복사본은 대상 샤드를 훑을 때 한 번 더 확인됨
+        assertThat(result).hasToString("scanned=2, moved=0, skipped=1");
+        assertThat(H2Shards.countUsers(shards.get(target), userId)).isEqualTo(1);
+        assertThat(directory.findShardByUserId(userId)).contains(target);
+        assertThat(router.shardOfUser(userId)).isEqualTo(target);
+
+        // 다음 실행은 복사본을 남기고 원본만 정리
+        MoveConflictTrigger.reset();
+        assertThat(rebalancer().rebalance()).hasToString("scanned=2, moved=1, skipped=0");
+        assertThat(locations(userId)).containsExactly(target);
+        assertThat(directory.findShardByUserId(userId)).contains(target);
+    }
+
+    // 샤드 3개, 재배치 중(이전 샤드 수 1) 설정
+    private void setUp() {
+        String prefix = "rebalance-" + System.nanoTime();
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setPreviousShardCount(1);
+        for (int i = 0; i < 3; i++) {
+            String url = H2Shards.url(prefix + "-" + i);
+            urls.add(url);
+            shards.add(H2Shards.migrate(url, i == ShardRoutingDataSource.HOME_SHARD));
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setUrl(url);
+            properties.getShards().add(shard);
+        }
+        directory = new UserShardDirectory(shards);
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("userShardDirectory", directory);
+        router = new ShardRouter(properties, beans.getBeanProvider(UserShardDirectory.class));
+    }
+
+    private ShardRebalancer rebalancer() {
+        return new ShardRebalancer(shards, directory, router, 7);
+    }
+
+    private List<String> insertUsersOnHomeShard() {
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(insertOnHome());
+        }
+        return userIds;
+    }
+
+    // 새 위치가 shard 가 아닌 회원 하나를 0번 샤드에 저장
+    private String insertUserPlacedOff(int shard) {
+        while (true) {
+            String userId = insertOnHome();
+            if (router.placementOf(userId) != shard) return userId;
+            new JdbcTemplate(shards.get(0)).update("DELETE FROM users WHERE user_id = ?",
+                    (Object) UuidBinaryConverter.toBytes(userId));
+        }
+    }
+
+    // 이메일은 userId 로 만들어 디렉터리 확인에 사용
+    private String insertOnHome() {
+        String userId = H2Shards.insertUser(shards.get(0), "pending@example.com");
+        new JdbcTemplate(shards.get(0)).update("UPDATE users SET email = ? WHERE user_id = ?",
+                userId + "@example.com", UuidBinaryConverter.toBytes(userId));
+        return userId;
+    }
+
+    private List<Integer> locations(String userId) {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            if (H2Shards.countUsers(shards.get(i), userId) > 0) found.add(i);
+        }
+        return found;
+    }
+
+    private static void copyRow(String userId, DataSource from, DataSource to) {
+        Map<String, Object> row = new JdbcTemplate(from).queryForMap("SELECT * FROM users WHERE user_id = ?",
+                (Object) UuidBinaryConverter.toBytes(userId));
+        row.remove("id");
+        String columns = String.join(", ", row.keySet());
+        String placeholders = String.join(", ", row.keySet().stream().map(column -> "?").toList());
+        new JdbcTemplate(to).update("INSERT INTO users (" + columns + ") VALUES (" + placeholders + ")",
+                row.values().toArray());
+    }
+
+    /**
+     * 대상 샤드에 복사본이 들어가는 순간 원본 행의 version 을 올려, 복사와 원본 삭제 사이의 수정을 재현합니다.
+     * writeCopyToo() 면 복사본도 함께 수정합니다.
+     */
+    public static class MoveConflictTrigger implements Trigger {
+
+        private static volatile String sourceUrl;
+        private static volatile byte[] userId;
+        private static volatile boolean writeCopy;
+
+        static void install(String targetUrl, String source, String conflictingUserId) throws SQLException {
+            sourceUrl = source;
+            userId = UuidBinaryConverter.toBytes(conflictingUserId);
+            try (Connection target = DriverManager.getConnection(targetUrl, "sa", "")) {
+                target.createStatement().execute("CREATE TRIGGER move_conflict AFTER INSERT ON users FOR EACH ROW "
+                        + "CALL '" + MoveConflictTrigger.class.getName() + "'");
+            }
+        }
+
+        // 원본과 함께 방금 들어간 복사본의 version 도 올림 (디렉터리 변경 후 대상 샤드로 간 쓰기)
+        static void writeCopyToo() {
+            writeCopy = true;
+        }
+
+        static void reset() {
+            userId = null;
+            writeCopy = false;
+        }
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+            byte[] conflicting = userId;
+            if (conflicting == null || !Arrays.equals(conflicting, (byte[]) newRow[1])) return;
+            try (Connection source = DriverManager.getConnection(sourceUrl, "sa", "");
+                 PreparedStatement bump = source.prepareStatement(
+                         "UPDATE users SET version = version + 1 WHERE user_id = ?")) {
+                bump.setBytes(1, conflicting);
+                bump.executeUpdate();
+            }
+            if (!writeCopy) return;
+            try (PreparedStatement bumpCopy = conn.prepareStatement(
+                    "UPDATE users SET version = version + 1 WHERE user_id = ?")) {
+                bumpCopy.setBytes(1, conflicting);
+                bumpCopy.executeUpdate();
+            }
+        }
+    }
+}
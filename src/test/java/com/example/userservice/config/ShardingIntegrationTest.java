@@ -0,0 +1,123 @@
+package com.example.userservice.config;
+
+import com.example.userservice.service.UserPurgeJob;
+import com.example.userservice.service.UserService;
+import com.example.userservice.vo.RequestUser;
+import com.example.userservice.vo.ResponseUser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 인메모리 H2 샤드 3개로 가입 → 샤드별 목록 합치기 → 이메일 조회 → 탈퇴 정리까지 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=" + ShardingIntegrationTest.SHARD_0,
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[1].url=" + ShardingIntegrationTest.SHARD_1,
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[2].url=" + ShardingIntegrationTest.SHARD_2,
+        "app.sharding.shards[2].username=sa",
+        "app.purge.enabled=true",
+        "app.purge.retention-days=0",
+        "app.purge.pause-ms=0"
+})
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:sharding-0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String SHARD_1 = "jdbc:h2:mem:sharding-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String SHARD_2 = "jdbc:h2:mem:sharding-2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ShardRouter shards;
+
+    @Autowired
+    private UserShardDirectory directory;
+
+    @Autowired
+    private UserPurgeJob purgeJob;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void usersAreSpreadAcrossShardsAndListedFromAll() {
+        List<ResponseUser> created = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            created.add(signup("fan-out-" + i + "@example.com"));
+        }
+
+        Set<Integer> usedShards = new HashSet<>();
+        for (ResponseUser user : created) {
+            int shard = shards.shardOfUser(user.getUserId());
+            usedShards.add(shard);
+            assertThat(directory.findShardByEmail(user.getEmail())).contains(shard);
+            assertThat(userService.getUserDetailsByEmail(user.getEmail()).getUserId()).isEqualTo(user.getUserId());
+        }
+        assertThat(usedShards).hasSizeGreaterThan(1);
+
+        List<String> listed = StreamSupport.stream(userService.getAllUsers().spliterator(), false)
+                .map(ResponseUser::getUserId)
+                .toList();
+        assertThat(listed).containsAll(created.stream().map(ResponseUser::getUserId).toList());
+    }
+
+    // 정리한 탈퇴 회원의 디렉터리 항목도 지워지고, 같은 이메일로 다시 가입할 수 있음
+    @Test
+    void purgeReleasesDirectoryEntries() {
+        String email = "purged@example.com";
+        ResponseUser user = signup(email);
+        userService.deleteUser(user.getUserId(), null);
+        assertThat(directory.findShardByEmail(email)).isPresent();
+
+        purgeJob.purge();
+
+        assertThat(directory.findShardByEmail(email)).isEmpty();
+        assertThat(directory.findShardByUserId(user.getUserId())).isEmpty();
+        assertThatThrownBy(() -> userService.getUserDetailsByEmail(email))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        ResponseUser again = signup(email);
+        assertThat(again.getUserId()).isNotEqualTo(user.getUserId());
+        assertThat(directory.findShardByUserId(again.getUserId())).contains(shards.shardOfUser(again.getUserId()));
+    }
+
+    private ResponseUser signup(String email) {
+        return userService.signup(new RequestUser(email, "password123", "Shard", LocalDate.of(2000, 1, 1), "",
+                signupToken(email)));
+    }
+
+    private String signupToken(String email) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(email)
+                .claim("type", "signup")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+    }
+}
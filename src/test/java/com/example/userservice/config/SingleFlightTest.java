@@ -0,0 +1,167 @@
+package com.example.userservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry, true, 5000, 60000);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsShareOneQuery() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("profile", "user-1", () -> {
+            queries.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "v1";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("profile", "user-1", () -> {
+                queries.incrementAndGet();
+                return "own";
+            })));
+        }
+        waitForWaiting(FOLLOWERS);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        }
+        assertThat(queries).hasValue(1);
+        assertThat(count("coalesced")).isEqualTo(FOLLOWERS);
+    }
+
+    // 쓰기 전에 시작된 조회 결과는 쓰기 후 요청에 전달되지 않음
+    @Test
+    void lookupsAfterAWriteDoNotJoinAnEarlierFlight() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> stored = new AtomicReference<>("before");
+
+        Future<String> staleLeader = executor.submit(() -> singleFlight.execute("profile", "user-2", () -> {
+            String read = stored.get();
+            leaderStarted.countDown();
+            await(release);
+            return read;
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        stored.set("after");
+        singleFlight.recordWrite("user-2");
+
+        List<Future<String>> readers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            readers.add(executor.submit(() -> singleFlight.execute("profile", "user-2", stored::get)));
+        }
+        for (Future<String> reader : readers) {
+            assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("after");
+        }
+        release.countDown();
+        assertThat(staleLeader.get(5, TimeUnit.SECONDS)).isEqualTo("before");
+        assertThat(count("bypassed")).isEqualTo(FOLLOWERS);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    // 쓰기 기록은 해당 키만 영향을 주고, 진행 중인 다른 키 조회는 계속 합쳐짐
+    @Test
+    void writesOnlyAffectTheirOwnKey() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("profile", "user-3", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "user-3";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.recordWrite("user-30", "other@example.com");
+        Future<String> follower = executor.submit(() -> singleFlight.execute("profile", "user-3", () -> "own"));
+        waitForWaiting(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("user-3");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("user-3");
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void followersQueryThemselvesAfterMaxWait() throws Exception {
+        SingleFlight shortWait = new SingleFlight(meterRegistry, true, 50, 60000);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> shortWait.execute("profile", "user-4", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(shortWait.execute("profile", "user-4", () -> "own")).isEqualTo("own");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(count("timeout")).isEqualTo(1);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("single.flight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    // 뒤따른 요청이 모두 leader 결과를 기다리는 상태가 될 때까지 대기
+    private void waitForWaiting(int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waitingThreads() < waiting && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(waitingThreads()).isGreaterThanOrEqualTo(waiting);
+    }
+
+    private static long waitingThreads() {
+        return Thread.getAllStackTraces().entrySet().stream()
+                .filter(entry -> entry.getKey().getState() == Thread.State.TIMED_WAITING)
+                .filter(entry -> Arrays.stream(entry.getValue())
+                        .anyMatch(frame -> frame.getClassName().equals(SingleFlight.class.getName())
+                                && frame.getMethodName().equals("await")))
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.userservice.config;
+
+import com.example.userservice.service.OciStorageService;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * 기동 직후 헬스 체크가 @Lazy OCI 클라이언트를 만들지 않고, 첫 업로드 이후부터 버킷을 확인하는지 봅니다.
+ */
+class StorageHealthIndicatorTest {
+
+    @Test
+    void bucketIsNotCheckedBeforeTheFirstUpload() {
+        ObjectStorage client = mock(ObjectStorage.class);
+        OciStorageService storageService = new OciStorageService(
+                client, "namespace", "bucket", "https://par.example.com/", ObservationRegistry.NOOP);
+        StorageHealthIndicator indicator = new StorageHealthIndicator(storageService, 60_000);
+
+        indicator.refresh();
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+        verifyNoInteractions(client);
+
+        storageService.uploadProfileImage("user-1",
+                new MockMultipartFile("file", "me.png", "image/png", new byte[]{1, 2, 3}));
+        indicator.refresh();
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        verify(client).headBucket(any());
+    }
+}
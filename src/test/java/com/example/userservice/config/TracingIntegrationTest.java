@@ -0,0 +1,178 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserRepository;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청 하나가 trace 하나로 묶이고, 보안 필터·JDBC·SMTP·스토리지 span 이 HTTP span 아래에 이어지는지 확인합니다.
+ * 테스트에서는 추적이 꺼져 있으므로 @AutoConfigureObservability 로 켜고 모든 요청을 샘플링합니다.
+ */
+@AutoConfigureObservability
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+
+    @TestConfiguration
+    static class ExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return new InMemorySpanExporter();
+        }
+    }
+
+    @MockitoBean
+    private ObjectStorage objectStorage;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String email;
+    private String userId;
+
+    @BeforeEach
+    void createUser() {
+        email = "tracing-" + UUID.randomUUID() + "@example.com";
+        userId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(UserEntity.builder()
+                .userId(userId)
+                .email(email)
+                .encryptedPwd(passwordEncoder.encode("password123"))
+                .name("Tracing")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .emailVerified(true)
+                .build()));
+        flush();
+        exporter.reset();
+    }
+
+    @Test
+    void loginTraceCoversAuthenticationAndQueries() throws Exception {
+        login();
+
+        Map<String, SpanData> trace = traceOf("http post /users/login");
+        assertThat(descendantNames(trace, "http post /users/login"))
+                .contains("login authenticate", "login issue token", "query");
+        assertThat(descendantNames(trace, "login authenticate")).contains("query");
+    }
+
+    @Test
+    void uploadTraceCoversJwtFilterQueriesAndObjectStorage() throws Exception {
+        String token = login();
+        exporter.reset();
+
+        mockMvc.perform(multipart("/users/{userId}/profile-image", userId)
+                        .file(new MockMultipartFile("file", "me.png", "image/png", new byte[]{1, 2, 3}))
+                        .header("token", token))
+                .andExpect(status().isOk());
+
+        Map<String, SpanData> trace = traceOf("http post /users/{userId}/profile-image");
+        assertThat(descendantNames(trace, "http post /users/{userId}/profile-image"))
+                .contains("jwt authorization", "oci put-object", "query");
+    }
+
+    @Test
+    void passwordResetTraceCoversSmtpSend() throws Exception {
+        // 테스트 메일 서버는 없으므로 전송은 실패하지만 span 은 남음
+        mockMvc.perform(post("/users/password-reset/request")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk());
+
+        Map<String, SpanData> trace = traceOf("http post /users/password-reset/request");
+        assertThat(descendantNames(trace, "http post /users/password-reset/request"))
+                .contains("smtp send", "query");
+    }
+
+    private String login() throws Exception {
+        return mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("token");
+    }
+
+    // HTTP span 이 속한 trace 의 span 들 (span id 기준)
+    private Map<String, SpanData> traceOf(String httpSpanName) {
+        flush();
+        List<SpanData> spans = exporter.getFinishedSpans();
+        SpanData http = spans.stream()
+                .filter(span -> span.getName().equals(httpSpanName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + httpSpanName + " in "
+                        + spans.stream().map(SpanData::getName).toList()));
+        assertThat(http.getParentSpanContext().isValid()).as("http span is the trace root").isFalse();
+        return spans.stream()
+                .filter(span -> span.getTraceId().equals(http.getTraceId()))
+                .collect(Collectors.toMap(SpanData::getSpanId, Function.identity()));
+    }
+
+    // 이름이 ancestorName 인 span 아래(자손)에 있는 span 이름들
+    private static List<String> descendantNames(Map<String, SpanData> trace, String ancestorName) {
+        return trace.values().stream()
+                .filter(span -> hasAncestor(trace, span, ancestorName))
+                .map(SpanData::getName)
+                .toList();
+    }
+
+    private static boolean hasAncestor(Map<String, SpanData> trace, SpanData span, String ancestorName) {
+        SpanData parent = trace.get(span.getParentSpanId());
+        while (parent != null) {
+            if (parent.getName().equals(ancestorName)) return true;
+            parent = trace.get(parent.getParentSpanId());
+        }
+        return false;
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+}
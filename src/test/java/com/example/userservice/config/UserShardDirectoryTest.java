@@ -0,0 +1,131 @@
+package com.example.userservice.config;
+
+import com.example.userservice.jpa.UuidBinaryConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserShardDirectoryTest {
+
+    private final List<DataSource> shards = H2Shards.create(2);
+    private final UserShardDirectory directory = new UserShardDirectory(shards);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 같은 이메일로 동시에 가입하면 한 명만 선점
+    @Test
+    void concurrentClaimsForOneEmailHaveOneWinner() throws Exception {
+        String email = "race@example.com";
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> userIds = new ArrayList<>();
+        List<Future<Boolean>> claims = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String userId = UUID.randomUUID().toString();
+            userIds.add(userId);
+            claims.add(executor.submit(() -> {
+                start.await();
+                return directory.claim(userId, email, 1);
+            }));
+        }
+        start.countDown();
+
+        List<String> winners = new ArrayList<>();
+        for (int i = 0; i < claims.size(); i++) {
+            if (claims.get(i).get(10, TimeUnit.SECONDS)) winners.add(userIds.get(i));
+        }
+        assertThat(winners).hasSize(1);
+        assertThat(directory.findShardByUserId(winners.get(0))).contains(1);
+        assertThat(directoryRows()).isEqualTo(1);
+    }
+
+    // 선점만 하고 아직 회원 행을 저장하지 않은 가입은 가로챌 수 없음
+    @Test
+    void inProgressClaimIsNotTakenOver() {
+        String email = "pending@example.com";
+        String pending = UUID.randomUUID().toString();
+        assertThat(directory.claim(pending, email, 1)).isTrue();
+
+        assertThat(directory.claim(UUID.randomUUID().toString(), email, 0)).isFalse();
+        assertThat(directory.findShardByUserId(pending)).contains(1);
+    }
+
+    // 가입 도중 실패해 회원 행 없이 오래된 항목은 새 회원이 가져감
+    @Test
+    void staleClaimIsTakenOver() {
+        String email = "stale@example.com";
+        String abandoned = UUID.randomUUID().toString();
+        assertThat(directory.claim(abandoned, email, 1)).isTrue();
+        new JdbcTemplate(shards.get(0)).update("UPDATE user_shard_directory SET claimed_at = ? WHERE user_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), UuidBinaryConverter.toBytes(abandoned));
+
+        String userId = UUID.randomUUID().toString();
+        assertThat(directory.claim(userId, email, 0)).isTrue();
+        assertThat(directory.findShardByEmail(email)).contains(0);
+        assertThat(directory.findShardByUserId(userId)).contains(0);
+        assertThat(directory.findShardByUserId(abandoned)).isEmpty();
+    }
+
+    @Test
+    void claimOfAnEmailInUseFails() {
+        String email = "taken@example.com";
+        String owner = H2Shards.insertUser(shards.get(1), email);
+        assertThat(directory.claim(owner, email, 1)).isTrue();
+
+        assertThat(directory.claim(UUID.randomUUID().toString(), "TAKEN@example.com", 0)).isFalse();
+        assertThat(directory.claim(owner, email, 1)).isTrue();   // 같은 회원의 재시도
+        assertThat(directory.findShardByUserId(owner)).contains(1);
+    }
+
+    // 정리된 회원: 삭제된 행·익명화된 행의 항목은 지우고, 그대로인 회원은 유지
+    @Test
+    void releasePurgedRemovesDeletedAndAnonymizedUsersOnly() {
+        DataSource shard = shards.get(1);
+        String deleted = H2Shards.insertUser(shard, "deleted@example.com");
+        String anonymized = H2Shards.insertUser(shard, "anonymized@example.com");
+        String restored = H2Shards.insertUser(shard, "restored@example.com");
+        for (String userId : List.of(deleted, anonymized, restored)) {
+            directory.put(userId, emailOf(shard, userId), 1);
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(shard);
+        jdbc.update("DELETE FROM users WHERE user_id = ?", (Object) UuidBinaryConverter.toBytes(deleted));
+        jdbc.update("UPDATE users SET email = 'purged-2@invalid', encrypted_pwd = '' WHERE user_id = ?",
+                (Object) UuidBinaryConverter.toBytes(anonymized));
+
+        directory.releasePurged(1, List.of(deleted, anonymized, restored));
+
+        assertThat(directory.findShardByEmail("deleted@example.com")).isEmpty();
+        assertThat(directory.findShardByEmail("anonymized@example.com")).isEmpty();
+        assertThat(directory.findShardByEmail("restored@example.com")).contains(1);
+        // 익명화로 풀린 이메일은 다시 가입 가능
+        assertThat(directory.claim(UUID.randomUUID().toString(), "anonymized@example.com", 0)).isTrue();
+    }
+
+    private String emailOf(DataSource shard, String userId) {
+        return new JdbcTemplate(shard).queryForObject("SELECT email FROM users WHERE user_id = ?",
+                String.class, (Object) UuidBinaryConverter.toBytes(userId));
+    }
+
+    private int directoryRows() {
+        Integer count = new JdbcTemplate(shards.get(0))
+                .queryForObject("SELECT COUNT(*) FROM user_shard_directory", Integer.class);
+        return count == null ? 0 : count;
+    }
+}
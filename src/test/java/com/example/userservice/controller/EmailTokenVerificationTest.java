@@ -0,0 +1,83 @@
+package com.example.userservice.controller;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 회원가입·비밀번호 재설정 요청에서 메일 토큰 서명 검증이 요청당 한 번만 일어나는지 jwt.verify 타이머로 확인합니다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EmailTokenVerificationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void signupAndPasswordResetVerifyTheTokenOnce() throws Exception {
+        String email = "verify-once@example.com";
+
+        long signupBefore = verifications("signup");
+        mockMvc.perform(post("/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s","pwd":"password123","name":"Verify","birthDate":"2000-01-01",
+                                 "profileImageUrl":"","token":"%s"}
+                                """.formatted(email, emailToken(email, "signup"))))
+                .andExpect(status().isCreated());
+        assertThat(verifications("signup") - signupBefore).isEqualTo(1);
+
+        long resetBefore = verifications("reset");
+        mockMvc.perform(post("/users/password-reset/confirm")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"token":"%s","newPassword":"password456"}
+                                """.formatted(emailToken(email, "reset"))))
+                .andExpect(status().isOk());
+        assertThat(verifications("reset") - resetBefore).isEqualTo(1);
+    }
+
+    // 성공·실패를 가리지 않고 해당 용도의 검증 횟수
+    private long verifications(String type) {
+        return meterRegistry.find("jwt.verify").tag("type", type).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    // EmailServiceImpl 이 메일로 보내는 것과 같은 형식의 토큰
+    private String emailToken(String email, String type) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(email)
+                .claim("type", type)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.userservice.controller;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserRepository;
+import com.oracle.bmc.objectstorage.ObjectStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 프로필 이미지 경로의 userId 가 UUID 가 아니면 업로드·DB 변환 전에 400 으로 끝나고,
+ * 대문자 UUID 는 저장된 소문자 형식으로 맞춰 처리되는지 확인합니다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProfileImagePathTest {
+
+    @MockitoBean
+    private ObjectStorage objectStorage;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void nonUuidUserIdIsRejectedBeforeTheUpload() throws Exception {
+        String token = login(createUser());
+
+        mockMvc.perform(multipart("/users/{userId}/profile-image", "not-a-uuid")
+                        .file(image())
+                        .header("token", token))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(objectStorage);
+    }
+
+    @Test
+    void upperCaseUserIdIsNormalised() throws Exception {
+        String email = createUser();
+        String userId = userRepository.findByEmail(email).getUserId();
+
+        mockMvc.perform(multipart("/users/{userId}/profile-image", userId.toUpperCase(Locale.ROOT))
+                        .file(image())
+                        .header("token", login(email)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId));
+    }
+
+    private String createUser() {
+        String email = "path-" + UUID.randomUUID() + "@example.com";
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(UserEntity.builder()
+                .userId(UUID.randomUUID().toString())
+                .email(email)
+                .encryptedPwd(passwordEncoder.encode("password123"))
+                .name("Path")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .emailVerified(true)
+                .build()));
+        return email;
+    }
+
+    private String login(String email) throws Exception {
+        return mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("token");
+    }
+
+    private static MockMultipartFile image() {
+        return new MockMultipartFile("file", "me.png", "image/png", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.userservice.event;
+
+import com.example.userservice.dto.UserChangeEvent;
+import com.example.userservice.jpa.UserEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpUserEventPublisherTest {
+
+    // 연결은 받지만 응답하지 않는 구독 엔드포인트: read timeout 으로 끝나 다음 주기에 다시 보냄
+    @Test
+    void publishGivesUpWhenTheEndpointDoesNotRespond() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                try (Socket ignored = server.accept()) {
+                    Thread.sleep(10_000);
+                } catch (Exception ignored) {
+                    // 테스트 종료
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            HttpUserEventPublisher publisher = new HttpUserEventPublisher(
+                    new ObjectMapper().registerModule(new JavaTimeModule()),
+                    "http://localhost:" + server.getLocalPort() + "/events", 500, 300);
+            List<UserChangeEvent> events = List.of(UserChangeEvent.builder()
+                    .eventId(1L)
+                    .userId("user-1")
+                    .version(1L)
+                    .type(UserEventType.UPDATED)
+                    .changedFields(List.of("name"))
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> publisher.publish(events)).isInstanceOf(ResourceAccessException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(5_000);
+            acceptor.interrupt();
+        }
+    }
+}
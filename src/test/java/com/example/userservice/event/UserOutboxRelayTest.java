@@ -0,0 +1,124 @@
+package com.example.userservice.event;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserEventType;
+import com.example.userservice.jpa.UserOutboxEntity;
+import com.example.userservice.jpa.UserOutboxRepository;
+import com.example.userservice.jpa.UserRepository;
+import com.example.userservice.service.UserService;
+import com.example.userservice.vo.PasswordResetConfirmRequest;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전송 방식이 없을 때(app.outbox.transport=none) 보관 기간이 지난 이벤트만 삭제하고,
+ * 비밀번호 재설정도 올린 version 의 이벤트를 남기는지 확인합니다.
+ */
+@SpringBootTest(properties = "app.outbox.undelivered-retention-hours=24")
+@ActiveProfiles("test")
+class UserOutboxRelayTest {
+
+    @Autowired
+    private UserOutboxRelay relay;
+
+    @Autowired
+    private UserOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void undeliveredEventsAreDeletedAfterTheRetentionPeriod() {
+        UserOutboxEntity expired = appendEvent(UUID.randomUUID().toString());
+        UserOutboxEntity recent = appendEvent(UUID.randomUUID().toString());
+        jdbcTemplate.update("UPDATE user_outbox SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(25)), expired.getId());
+
+        relay.relay();
+
+        assertThat(outboxRepository.findById(expired.getId())).isEmpty();
+        assertThat(outboxRepository.findById(recent.getId())).isPresent();
+    }
+
+    // 비밀번호 변경도 version 을 올리므로 그 version 의 UPDATED 이벤트가 있어야 구독자가 빈 version 을 유실로 보지 않음
+    @Test
+    void passwordResetAppendsAnEventForTheNewVersion() {
+        String email = "outbox-reset-" + UUID.randomUUID() + "@example.com";
+        String userId = UUID.randomUUID().toString();
+        long version = transactionTemplate.execute(status -> userRepository.saveAndFlush(UserEntity.builder()
+                .userId(userId)
+                .email(email)
+                .encryptedPwd("{noop}password123")
+                .name("Outbox")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .emailVerified(true)
+                .build())).getVersion();
+
+        PasswordResetConfirmRequest req = new PasswordResetConfirmRequest();
+        req.setToken(resetToken(email));
+        req.setNewPassword("password456");
+        userService.confirmPasswordReset(req);
+
+        assertThat(userRepository.findVersionViewByUserIdAndDeletedFalse(userId).orElseThrow().getVersion())
+                .isEqualTo(version + 1);
+        assertThat(outboxRepository.findAll())
+                .filteredOn(event -> event.getUserId().equals(userId))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getEventType()).isEqualTo(UserEventType.UPDATED);
+                    assertThat(event.getVersion()).isEqualTo(version + 1);
+                    assertThat(event.getChangedFields()).isEqualTo("password");
+                });
+    }
+
+    private UserOutboxEntity appendEvent(String userId) {
+        return outboxRepository.save(UserOutboxEntity.builder()
+                .userId(userId)
+                .version(1L)
+                .eventType(UserEventType.UPDATED)
+                .changedFields("name")
+                .build());
+    }
+
+    private String resetToken(String email) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(email)
+                .claim("type", "reset")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+    }
+}
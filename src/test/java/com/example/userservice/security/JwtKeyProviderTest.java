@@ -0,0 +1,55 @@
+package com.example.userservice.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyProviderTest {
+
+    private static final String SECRET = "bXlzZWNyZXRrZXlteXNlY3JldGtleW15c2VjcmV0a2V5MTIzNDU2";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtKeyProvider keyProvider =
+            new JwtKeyProvider(new JwtSigningProperties(), SECRET, new ObjectMapper(), meterRegistry);
+
+    @Test
+    void acceptsLoginToken() {
+        String userId = UUID.randomUUID().toString();
+        String token = keyProvider.sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(userId)
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(60))));
+
+        assertThat(keyProvider.parse(token).getSubject()).isEqualTo(userId);
+    }
+
+    // 메일 토큰은 같은 jwt.secret 으로 HS256 서명되지만 로그인 토큰으로 쓸 수 없음
+    @Test
+    void rejectsEmailTokensSignedWithTheSameSecret() {
+        for (String type : new String[]{"signup", "reset"}) {
+            String emailToken = Jwts.builder()
+                    .subject("someone@example.com")
+                    .claim("type", type)
+                    .issuedAt(new Date())
+                    .expiration(Date.from(Instant.now().plusSeconds(60)))
+                    .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                    .compact();
+
+            assertThatThrownBy(() -> keyProvider.parse(emailToken)).isInstanceOf(JwtException.class);
+        }
+        assertThat(meterRegistry.get("jwt.verify").tag("type", "login").tag("outcome", "failure")
+                .timer().count()).isEqualTo(2);
+    }
+}
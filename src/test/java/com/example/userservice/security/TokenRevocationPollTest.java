@@ -0,0 +1,85 @@
+package com.example.userservice.security;
+
+import com.example.userservice.jpa.TokenRevocationEntity;
+import com.example.userservice.jpa.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공용 @Scheduled 스레드가 모두 오래 걸리는 작업(정리 작업의 배치 사이 대기 등)에 묶여 있어도
+ * 다른 인스턴스가 기록한 폐기가 반영되는지 확인합니다.
+ */
+@SpringBootTest(properties = "app.token-revocation.poll-interval-ms=100")
+@ActiveProfiles("test")
+class TokenRevocationPollTest {
+
+    @Autowired
+    private TokenRevocationStore store;
+
+    @Autowired
+    private TokenRevocationRepository repository;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseScheduler() {
+        release.countDown();
+    }
+
+    @Test
+    void revocationsFromOtherInstancesAreLoadedWhileTheSharedSchedulerIsBusy() throws Exception {
+        int poolSize = taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize();
+        CountDownLatch busy = new CountDownLatch(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            taskScheduler.execute(() -> {
+                busy.countDown();
+                await(release);
+            });
+        }
+        assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 다른 인스턴스의 탈퇴 처리: 테이블에만 기록되고 이 인스턴스 메모리에는 없음
+        String userId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(TokenRevocationEntity.builder()
+                .userId(userId)
+                .notBefore(now)
+                .expiresAt(now.plusHours(1))
+                .build());
+        Claims token = Jwts.claims()
+                .subject(userId)
+                .issuedAt(new Date(System.currentTimeMillis() - 60_000))
+                .build();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!store.isRevoked(token) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(store.isRevoked(token)).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
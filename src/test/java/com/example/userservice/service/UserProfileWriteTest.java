@@ -0,0 +1,126 @@
+package com.example.userservice.service;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserEventType;
+import com.example.userservice.jpa.UserOutboxEntity;
+import com.example.userservice.jpa.UserOutboxRepository;
+import com.example.userservice.jpa.UserRepository;
+import com.example.userservice.vo.ResponseUser;
+import com.example.userservice.vo.UpdateProfileRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 프로필 수정·탈퇴가 변경된 행을 다시 읽지 않고도 UPDATE 결과 version 으로 이벤트를 남기고,
+ * If-Match 가 맞지 않으면 아무것도 바꾸지 않는지 확인합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserProfileWriteTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void updateWithoutIfMatchRecordsTheUpdatedVersion() {
+        String userId = createUser();
+        long version = currentVersion(userId);
+
+        ResponseUser response = userService.updateProfile(userId, request("Renamed"), null);
+
+        assertThat(response.getUserId()).isEqualTo(userId);
+        assertThat(response.getName()).isEqualTo("Renamed");
+        assertThat(response.getTheme()).isEqualTo("DARK");
+        assertThat(currentVersion(userId)).isEqualTo(version + 1);
+        assertThat(events(userId)).singleElement().satisfies(event -> {
+            assertThat(event.getEventType()).isEqualTo(UserEventType.UPDATED);
+            assertThat(event.getVersion()).isEqualTo(version + 1);
+        });
+    }
+
+    @Test
+    void staleIfMatchChangesNothing() {
+        String userId = createUser();
+        long version = currentVersion(userId);
+
+        assertThatThrownBy(() -> userService.updateProfile(userId, request("Renamed"), version + 5))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+        assertThatThrownBy(() -> userService.deleteUser(userId, version + 5))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+
+        assertThat(currentVersion(userId)).isEqualTo(version);
+        assertThat(events(userId)).isEmpty();
+    }
+
+    @Test
+    void deleteRecordsOneEventAndRepeatingItIsANoOp() {
+        String userId = createUser();
+        long version = currentVersion(userId);
+
+        userService.deleteUser(userId, version);
+        userService.deleteUser(userId, null);
+
+        assertThat(userRepository.findVersionViewByUserIdAndDeletedFalse(userId)).isEmpty();
+        assertThat(events(userId)).singleElement().satisfies(event -> {
+            assertThat(event.getEventType()).isEqualTo(UserEventType.DELETED);
+            assertThat(event.getVersion()).isEqualTo(version + 1);
+        });
+    }
+
+    private String createUser() {
+        String userId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(UserEntity.builder()
+                .userId(userId)
+                .email("write-" + userId + "@example.com")
+                .encryptedPwd("{noop}password123")
+                .name("Writer")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .theme(Theme.LIGHT)
+                .emailVerified(true)
+                .build()));
+        return userId;
+    }
+
+    private long currentVersion(String userId) {
+        return userRepository.findVersionViewByUserIdAndDeletedFalse(userId).orElseThrow().getVersion();
+    }
+
+    private List<UserOutboxEntity> events(String userId) {
+        return outboxRepository.findAll().stream()
+                .filter(event -> event.getUserId().equals(userId))
+                .toList();
+    }
+
+    private static UpdateProfileRequest request(String name) {
+        UpdateProfileRequest req = new UpdateProfileRequest();
+        req.setName(name);
+        req.setBirthDate(LocalDate.of(1999, 9, 9));
+        req.setProfileImageUrl("");
+        req.setTheme(Theme.DARK);
+        return req;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.userservice.service;
+
+import com.example.userservice.jpa.Theme;
+import com.example.userservice.jpa.UserEntity;
+import com.example.userservice.jpa.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정리 작업이 전용 스레드에서 실행되어 배치 사이 대기가 공용 @Scheduled 스레드를 막지 않고,
+ * 실행 중에는 잠금으로 다른 실행을 건너뛰는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "app.purge.enabled=true",
+        "app.purge.cron=* * * * * *",
+        "app.purge.retention-days=0",
+        "app.purge.batch-size=1",
+        "app.purge.pause-ms=3000"
+})
+@ActiveProfiles("test")
+class UserPurgeJobTest {
+
+    @Autowired
+    private UserPurgeJob purgeJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void stopSchedule() {
+        purgeJob.stop();
+    }
+
+    @Test
+    void purgeSleepsOnItsOwnThreadAndHoldsTheLock() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createDeletedUser();
+        }
+
+        Thread purgeThread = awaitPausedPurge();
+        assertThat(purgeThread.getName()).startsWith("user-purge-");
+        assertThat(threadsIn(UserPurgeJob.class.getName()).keySet())
+                .noneMatch(thread -> thread.getName().startsWith("scheduling-"));
+
+        // 예약 실행이 잠금을 잡고 있으므로 바로 돌아옴 (대기 없이 건너뜀)
+        long started = System.nanoTime();
+        purgeJob.purge();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+    }
+
+    private void createDeletedUser() {
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity user = UserEntity.builder()
+                    .userId(UUID.randomUUID().toString())
+                    .email("purge-" + UUID.randomUUID() + "@example.com")
+                    .encryptedPwd("{noop}password")
+                    .name("Purge")
+                    .birthDate(LocalDate.of(2000, 1, 1))
+                    .theme(Theme.LIGHT)
+                    .emailVerified(true)
+                    .build();
+            user.markDeleted(LocalDateTime.now().minusDays(1));
+            userRepository.saveAndFlush(user);
+        });
+    }
+
+    // 배치 사이 대기(UserPurgeJob.pause) 중인 스레드
+    private Thread awaitPausedPurge() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            for (Map.Entry<Thread, StackTraceElement[]> entry : threadsIn(UserPurgeJob.class.getName()).entrySet()) {
+                boolean paused = Arrays.stream(entry.getValue())
+                        .anyMatch(frame -> frame.getMethodName().equals("pause"));
+                if (paused && entry.getKey().getState() == Thread.State.TIMED_WAITING) return entry.getKey();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("purge did not reach a pause between batches");
+    }
+
+    private static Map<Thread, StackTraceElement[]> threadsIn(String className) {
+        Map<Thread, StackTraceElement[]> threads = Thread.getAllStackTraces();
+        threads.values().removeIf(stack -> Arrays.stream(stack)
+                .noneMatch(frame -> frame.getClassName().equals(className)));
+        return threads;
+    }
+}